@@ -1,7 +1,7 @@
 package com.sap.aspect;
 
 import com.sap.annotation.LogDatabaseCount;
-import com.sap.repository.TableRowRepository;
+import com.sap.service.RowCountService;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -9,16 +9,20 @@ import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+// Runs outside the transaction so the count after the call includes the committed change
 @Aspect
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class DatabaseCountLoggingAspect {
 
     private static final Logger LOG = LoggerFactory.getLogger(DatabaseCountLoggingAspect.class);
 
     @Autowired
-    private TableRowRepository repository;
+    private RowCountService rowCount;
 
     @Around("@annotation(com.sap.annotation.LogDatabaseCount)")
     public Object logDatabaseCount(ProceedingJoinPoint joinPoint) throws Throwable {
@@ -30,13 +34,13 @@ public class DatabaseCountLoggingAspect {
         LogDatabaseCount annotation = signature.getMethod().getAnnotation(LogDatabaseCount.class);
         String entity = annotation.entity();
 
-        long countBefore = repository.count();
+        long countBefore = rowCount.getCount();
         LOG.info("BEFORE {}.{} | {} count: {}",
                 className, methodName, entity, countBefore);
 
         Object result = joinPoint.proceed();
 
-        long countAfter = repository.count();
+        long countAfter = rowCount.getCount();
         long difference = countAfter - countBefore;
 
         LOG.info("AFTER  {}.{} | {} count: {} | Change: {}",
@@ -1,11 +1,13 @@
 package com.sap.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
@@ -23,4 +25,52 @@ public class AsyncConfiguration {
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    @Bean(name = "exportPool", destroyMethod = "shutdown")
+    public ForkJoinPool exportPool(@Value("${export.parallel.threads:0}") int threads) {
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(parallelism);
+    }
+
+    // Runs POST /rows/bulk jobs. The queue is bounded and a full one rejects the job, so a burst
+    // of bulk requests is answered with 503 instead of holding their bodies or request threads
+    @Bean(name = "bulkJobExecutor")
+    public Executor bulkJobExecutor(@Value("${rows.bulk.job-threads:2}") int threads,
+                                    @Value("${rows.bulk.job-queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("bulk-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Runs POST /rows/export/excel jobs. Each one scans the whole table and writes a file, so only
+    // a few run at once and a full queue rejects the job with 503 like bulkJobExecutor does
+    @Bean(name = "exportJobExecutor")
+    public Executor exportJobExecutor(@Value("${export.jobs.threads:1}") int threads,
+                                      @Value("${export.jobs.queue-capacity:4}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("export-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Workers for parallel bulk inserts; each holds a connection while it runs, so keep the
+    // thread count below the connection pool size
+    @Bean(name = "bulkPool")
+    public Executor bulkPool(@Value("${rows.bulk.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("bulk-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,6 +1,7 @@
 package com.sap.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -12,8 +13,14 @@ public class WebConfig implements WebMvcConfigurer {
     @Autowired
     private RateLimitInterceptor rateLimitInterceptor;
 
+    @Value("${rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        if (!rateLimitEnabled) {
+            return;
+        }
         registry.addInterceptor(rateLimitInterceptor)
                 .addPathPatterns("/rows")
                 .excludePathPatterns("/hello");
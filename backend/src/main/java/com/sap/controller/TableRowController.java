@@ -1,31 +1,60 @@
 package com.sap.controller;
 
+import com.sap.export.ExportCache;
+import com.sap.export.ExportEncoding;
+import com.sap.export.NdjsonExportStrategy;
+import com.sap.export.TableRowJsonWriter;
+import com.sap.feed.RowChange;
+import com.sap.feed.RowChangeFeed;
+import com.sap.job.Job;
+import com.sap.job.JobRegistry;
+import com.sap.job.JobStatus;
 import com.sap.service.ExportService;
+import com.sap.service.RowCountService;
+import com.sap.service.RowImportService;
+import com.sap.service.RowPageCache;
+import com.sap.service.RowQueryService;
+import com.sap.service.RowReadModel;
+import com.sap.service.RowResponseCache;
+import com.sap.service.RowSearchService;
+import com.sap.service.RowStatisticsService;
 import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.sap.service.AsyncTableRowService;
 import com.sap.metrics.TableRowMetrics;
 import com.sap.dto.CreateTableRowRequest;
+import com.sap.dto.RowCursor;
+import com.sap.dto.RowFilter;
 import com.sap.entity.TableRow;
 import com.sap.repository.TableRowRepository;
 import com.sap.service.TableRowService;
+import com.sap.service.TableVersionService;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/rows")
@@ -36,6 +65,15 @@ public class TableRowController {
 
     private static final int BULK_OPTIMIZATION_THRESHOLD = 50;
 
+    private static final String XLSX_CONTENT_TYPE =
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    // Tomcat serves a file named by these request attributes with sendfile(2) after the handler returns
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     // TODO: Create interfaces for the Services
     @Autowired
     private TableRowRepository repository;
@@ -43,6 +81,9 @@ public class TableRowController {
     @Autowired
     private AsyncTableRowService asyncTableRowService;
 
+    @Autowired
+    private RowImportService rowImportService;
+
     @Autowired
     private TableRowService tableRowService;
 
@@ -52,11 +93,48 @@ public class TableRowController {
     @Autowired
     private ExportService exportService;
 
+    @Autowired
+    private JobRegistry jobRegistry;
+
+    @Autowired
+    private RowCountService rowCount;
+
+    @Autowired
+    private RowPageCache rowPageCache;
+
+    @Autowired
+    private RowQueryService rowQueryService;
+
+    @Autowired
+    private RowStatisticsService rowStatistics;
+
+    @Autowired
+    private RowSearchService rowSearch;
+
+    @Autowired
+    private RowReadModel rowReadModel;
+
+    @Autowired
+    private RowResponseCache rowResponses;
+
+    @Autowired
+    private TableVersionService tableVersion;
+
+    @Autowired
+    private RowChangeFeed changeFeed;
+
+    /**
+     * Offset page of rows in id order. Responses carry an ETag of the serialized page and the
+     * total count; a request whose {@code If-None-Match} still matches gets a 304. That check
+     * runs before the page is loaded, against the tag kept for the page, so it is answered from
+     * memory as long as the page cache (or the read model) still holds the page; otherwise the
+     * page is loaded first. A write outside the page only changes the count.
+     */
     @GetMapping
-    @Cacheable(value = "rows", key = "#page + '-' + #size")
     public ResponseEntity<?> getAllRows(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws IOException {
 
         LOG.info("Getting rows - page: {}, size: {}", page, size);
 
@@ -71,28 +149,324 @@ public class TableRowController {
 
         Timer.Sample sample = metrics.startTimer();
 
-        Page<TableRow> pageResult = repository.findAll(PageRequest.of(page, size));
+        long total = rowCount.getCount();
+        // The page cache hands out one list until a write in its range drops it; the read model
+        // builds a new list per call, so its pages are tied to the table version, read first
+        long version = tableVersion.getVersion();
+        boolean readModel = rowReadModel.isReady();
+        String request = "page=" + page + "&size=" + size;
+
+        String knownTag = rowResponses.currentTag(request,
+                readModel ? version : rowPageCache.peekOffsetPage(page, size));
+        if (knownTag != null) {
+            String etag = etag(knownTag, "rows-" + total);
+            if (etagMatches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+
+        List<TableRow> content = readModel
+                ? rowReadModel.getOffsetPage(page, size)
+                : rowPageCache.getOffsetPage(page, size,
+                        () -> repository.findPageContent(PageRequest.of(page, size)));
+
+        RowResponseCache.CachedPage cached = rowResponses.get(request,
+                readModel ? version : content,
+                out -> TableRowJsonWriter.writePageHead(out, content, page, size));
+
+        String etag = etag(cached.getTag(), "rows-" + total);
+        if (etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(cached.getJson().length + 32);
+        body.write(cached.getJson());
+        TableRowJsonWriter.writeTotalCount(body, total);
+
+        metrics.recordTimer(sample);
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.toByteArray());
+    }
+
+    /**
+     * Keyset pagination: pages are located by the last row of the previous page instead of an
+     * offset, so every page costs the same however deep it is. Start with an empty
+     * {@code after} and pass {@code nextCursor} back until {@code hasMore} is false. The total
+     * is only counted when asked for.
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity<?> getRowsAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        LOG.info("Getting rows - after: {}, size: {}, sort: {}", after, size, sort);
+
+        if (size > 100) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Size cannot exceed 100"));
+        }
+        if (size < 1) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Size must be at least 1"));
+        }
+
+        RowCursor cursor;
+        RowCursor.Sort order;
+        try {
+            cursor = after.isEmpty() ? null : RowCursor.decode(after);
+            order = cursor != null ? cursor.getSort() : RowCursor.Sort.fromParameter(sort);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", e.getMessage()));
+        }
+
+        Timer.Sample sample = metrics.startTimer();
+
+        Slice<TableRow> slice = rowReadModel.isReady()
+                ? rowReadModel.query(RowFilter.ANY, order, cursor, size)
+                : rowPageCache.getKeysetPage(order, cursor, size, () -> {
+                    PageRequest limit = PageRequest.ofSize(size);
+                    if (order == RowCursor.Sort.ID) {
+                        return repository.findPageAfterId(cursor == null ? Long.MIN_VALUE : cursor.getId(), limit);
+                    }
+                    if (cursor == null) {
+                        return repository.findFirstPageByCreatedAt(limit);
+                    }
+                    return repository.findPageAfterCreatedAt(cursor.getCreatedAt(), cursor.getId(), limit);
+                });
 
         metrics.recordTimer(sample);
 
+        List<TableRow> rows = slice.getContent();
         Map<String, Object> response = new HashMap<>();
-        response.put("data", pageResult.getContent());
-        response.put("totalCount", pageResult.getTotalElements());
-        response.put("page", page);
+        response.put("data", rows);
         response.put("size", size);
+        response.put("hasMore", slice.hasNext());
+        response.put("nextCursor", slice.hasNext() ? RowCursor.after(order, rows.get(rows.size() - 1)).encode() : null);
+        if (includeTotal) {
+            response.put("totalCount", rowCount.getCount());
+        }
 
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Rows filtered by selector, type number range and {@code createdAt} window, paged by
+     * cursor like {@code GET /rows?after}. Start without {@code after}.
+     */
+    @GetMapping("/query")
+    public ResponseEntity<?> queryRows(
+            @RequestParam(required = false) String typeSelector,
+            @RequestParam(required = false) Integer minTypeNumber,
+            @RequestParam(required = false) Integer maxTypeNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size) {
+
+        LOG.info("Querying rows - selector: {}, typeNumber: [{}, {}], createdAt: [{}, {}), sort: {}, size: {}",
+                typeSelector, minTypeNumber, maxTypeNumber, createdFrom, createdTo, sort, size);
+
+        if (size > 100) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Size cannot exceed 100"));
+        }
+        if (size < 1) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Size must be at least 1"));
+        }
+
+        RowFilter filter;
+        RowCursor cursor;
+        RowCursor.Sort order;
+        try {
+            filter = new RowFilter(typeSelector, minTypeNumber, maxTypeNumber, createdFrom, createdTo);
+            cursor = after == null || after.isEmpty() ? null : RowCursor.decode(after);
+            order = cursor != null ? cursor.getSort() : RowCursor.Sort.fromParameter(sort);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", e.getMessage()));
+        }
+
+        Timer.Sample sample = metrics.startTimer();
+
+        Slice<TableRow> slice = rowQueryService.query(filter, order, cursor, size);
+
+        metrics.recordTimer(sample);
+
+        List<TableRow> rows = slice.getContent();
+        Map<String, Object> response = new HashMap<>();
+        response.put("data", rows);
+        response.put("size", size);
+        response.put("hasMore", slice.hasNext());
+        response.put("nextCursor", slice.hasNext() ? RowCursor.after(order, rows.get(rows.size() - 1)).encode() : null);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Live aggregates maintained in memory; the cost does not depend on the table size.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<?> getStatistics(@RequestParam(defaultValue = "24") int hours) {
+        if (hours < 1 || hours > rowStatistics.getRetentionHours()) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Hours must be between 1 and " + rowStatistics.getRetentionHours()));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("totalCount", rowCount.getCount());
+        response.put("rowsBySelector", rowStatistics.getRowsBySelector());
+        response.put("typeNumberHistogram", rowStatistics.getTypeNumberHistogram());
+        response.put("rowsPerHour", rowStatistics.getRowsPerHour(hours));
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Every row matching the optional filters, in id order, as newline-delimited JSON written
+     * while it is read from the database; no size cap. Resume an interrupted read by passing the
+     * last id received as {@code afterId}.
+     */
+    @GetMapping(value = "/stream", produces = NdjsonExportStrategy.CONTENT_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamRows(
+            @RequestParam(required = false) String typeSelector,
+            @RequestParam(required = false) Integer minTypeNumber,
+            @RequestParam(required = false) Integer maxTypeNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "0") long limit) {
+
+        LOG.info("Streaming rows - selector: {}, typeNumber: [{}, {}], createdAt: [{}, {}), afterId: {}, limit: {}",
+                typeSelector, minTypeNumber, maxTypeNumber, createdFrom, createdTo, afterId, limit);
+
+        RowFilter filter;
+        try {
+            if (limit < 0) {
+                throw new IllegalArgumentException("Limit must not be negative");
+            }
+            filter = new RowFilter(typeSelector, minTypeNumber, maxTypeNumber, createdFrom, createdTo);
+        } catch (IllegalArgumentException e) {
+            byte[] error = ("Error: " + e.getMessage()).getBytes();
+            return ResponseEntity.badRequest()
+                    .body(out -> out.write(error));
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonExportStrategy.CONTENT_TYPE))
+                .body(out -> exportService.streamRows(filter, afterId, limit, out));
+    }
+
+    /**
+     * Newest rows whose free text contains every word of {@code q}; a word ending in {@code *}
+     * matches as a prefix. Served from the in-memory search index.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchRows(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int size) {
+
+        LOG.info("Searching rows - query: {}, size: {}", q, size);
+
+        if (size > 100) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Size cannot exceed 100"));
+        }
+        if (size < 1) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Size must be at least 1"));
+        }
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Query must not be empty"));
+        }
+
+        Timer.Sample sample = metrics.startTimer();
+
+        RowSearchService.Result result = rowSearch.search(q, size);
+
+        metrics.recordTimer(sample);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("data", result.rows());
+        response.put("size", size);
+        response.put("totalMatches", result.totalMatches());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Server-sent events of committed inserts and deletes, each with its sequence number as
+     * event id. Resumes after {@code after} or the {@code Last-Event-ID} of a reconnecting
+     * {@code EventSource}; a {@code resync} event means changes were missed and the client
+     * should reload.
+     */
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamChanges(
+            @RequestParam(required = false) Long after,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+
+        RowChangeFeed.Subscription subscription;
+        try {
+            subscription = changeFeed.subscribe(lastEventId != null ? lastEventId : after);
+        } catch (IllegalStateException e) {
+            byte[] error = ("Error: " + e.getMessage()).getBytes();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(out -> out.write(error));
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .cacheControl(CacheControl.noStore())
+                .body(out -> changeFeed.writeEvents(subscription, out));
+    }
+
+    /**
+     * Long poll alternative to {@link #streamChanges}: the changes after {@code after} as
+     * NDJSON, waiting up to {@code waitSeconds} for the first one. Without {@code after} it
+     * waits for the next change.
+     */
+    @GetMapping(value = "/changes", produces = NdjsonExportStrategy.CONTENT_TYPE)
+    public ResponseEntity<StreamingResponseBody> pollChanges(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "25") int waitSeconds) {
+
+        if (waitSeconds < 0 || waitSeconds > 60) {
+            byte[] error = "Error: waitSeconds must be between 0 and 60".getBytes();
+            return ResponseEntity.badRequest()
+                    .body(out -> out.write(error));
+        }
+        long from = after != null ? after : changeFeed.getSequence();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonExportStrategy.CONTENT_TYPE))
+                .cacheControl(CacheControl.noStore())
+                .body(out -> {
+                    List<RowChange> changes;
+                    try {
+                        changes = changeFeed.awaitAfter(from, Duration.ofSeconds(waitSeconds));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    changeFeed.writeLines(changes, out);
+                });
+    }
+
     @PostMapping
-    @CacheEvict(value = {"rows", "rowCount"}, allEntries = true)
     public ResponseEntity<TableRow> createRow(@Valid @RequestBody CreateTableRowRequest request) {
         TableRow savedRow = tableRowService.create(request);
         return ResponseEntity.ok(savedRow);
     }
 
     @DeleteMapping("/{id}")
-    @CacheEvict(value = {"rows", "rowCount"}, allEntries = true)
     public ResponseEntity<Void> deleteRow(@PathVariable Long id) {
         LOG.info("Deleting row with ID: {}", id);
         repository.deleteById(id);
@@ -100,36 +474,94 @@ public class TableRowController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Starts a bulk creation job, or answers 503 with {@code Retry-After} when
+     * {@code rows.bulk.job-queue-capacity} jobs are already waiting.
+     */
     @PostMapping("/bulk")
-    @CacheEvict(value = {"rows", "rowCount"}, allEntries = true)
     public ResponseEntity<Map<String, Object>> createBulk(
-            @Valid @RequestBody List<CreateTableRowRequest> requests) throws ExecutionException, InterruptedException {
+            @Valid @RequestBody List<CreateTableRowRequest> requests,
+            @RequestParam(defaultValue = "false") boolean parallel) {
 
-        LOG.info("Bulk creation requested for {} rows", requests.size());
-        CompletableFuture<List<TableRow>> result;
+        LOG.info("Bulk creation requested for {} rows, parallel: {}", requests.size(), parallel);
+        Job job = jobRegistry.create("bulk-create");
         String strategy;
-        if (requests.size() >= BULK_OPTIMIZATION_THRESHOLD) {
-            result = asyncTableRowService.createBulkOptimized(requests);
-            strategy = "optimized_batch";
-            LOG.info("Using optimized batch strategy for {} rows", requests.size());
-        } else {
-            result = asyncTableRowService.createBulk(requests);
-            strategy = "sequential";
-            LOG.info("Using sequential strategy for {} rows", requests.size());
+        try {
+            if (parallel) {
+                asyncTableRowService.createBulkParallel(requests, job);
+                strategy = "parallel_partitions";
+                LOG.info("Using parallel partitioned strategy for {} rows", requests.size());
+            } else if (requests.size() >= BULK_OPTIMIZATION_THRESHOLD) {
+                asyncTableRowService.createBulkOptimized(requests, job);
+                strategy = "optimized_batch";
+                LOG.info("Using optimized batch strategy for {} rows", requests.size());
+            } else {
+                asyncTableRowService.createBulk(requests, job);
+                strategy = "sequential";
+                LOG.info("Using sequential strategy for {} rows", requests.size());
+            }
+        } catch (TaskRejectedException e) {
+            LOG.warn("Bulk creation of {} rows rejected, job queue is full", requests.size());
+            job.fail(e);
+            jobRegistry.update(job);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(Map.of("error", "Too many bulk jobs are queued, retry later"));
         }
 
-        // save in metrics etc DB
-
         return ResponseEntity.accepted()
                 .body(Map.of(
                         "status", "processing",
                         "message", "Bulk creation started",
                         "count", requests.size(),
                         "strategy", strategy,
-                        "result", result.get()
+                        "jobId", job.getId(),
+                        "statusUrl", "/rows/bulk/jobs/" + job.getId()
                 ));
     }
 
+    /**
+     * Progress of a bulk creation job. Once finished, {@code ids} lists the created rows in
+     * request order, and parallel jobs add a {@code partitions} report.
+     */
+    @GetMapping("/bulk/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getBulkJob(@PathVariable String jobId) {
+        Optional<Job> job = jobRegistry.find(jobId);
+        if (job.isEmpty() || !"bulk-create".equals(job.get().getType())) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Map<String, Object> response = job.get().toSummary();
+        if (job.get().getResult() instanceof Map<?, ?> result) {
+            result.forEach((key, value) -> response.put((String) key, value));
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Imports rows from an NDJSON or CSV body as it streams in, committing every
+     * {@code rows.import.chunk-size} rows. Invalid rows are skipped and listed by line.
+     */
+    @PostMapping(value = "/import", consumes = {NdjsonExportStrategy.CONTENT_TYPE, "text/csv"})
+    public ResponseEntity<Map<String, Object>> importRows(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            HttpServletRequest request) throws IOException {
+
+        LOG.info("Import requested - content type: {}", contentType);
+        RowImportService.Result result = rowImportService.importRows(
+                request.getInputStream(), MediaType.parseMediaType(contentType));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("imported", result.imported());
+        response.put("rejected", result.rejected());
+        response.put("errors", result.errors());
+        if (result.failure() != null) {
+            response.put("error", result.failure());
+            return ResponseEntity.badRequest().body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/reports/generate")
     public ResponseEntity<Map<String, Object>> generateReport(
             @RequestParam(defaultValue = "1") Long userId) {
@@ -168,36 +600,163 @@ public class TableRowController {
 
         LOG.info("Excel export requested for user: {}", userId);
 
-        asyncTableRowService.exportToExcel(userId);
+        Job job = jobRegistry.create("excel-export");
+        try {
+            asyncTableRowService.exportToExcel(userId, job);
+        } catch (TaskRejectedException e) {
+            LOG.warn("Excel export for user {} rejected, job queue is full", userId);
+            job.fail(e);
+            jobRegistry.update(job);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(Map.of("error", "Too many export jobs are queued, retry later"));
+        }
 
         return ResponseEntity.accepted()
                 .body(Map.of(
                         "status", "processing",
                         "message", "Excel export started",
-                        "userId", userId
+                        "userId", userId,
+                        "jobId", job.getId(),
+                        "statusUrl", "/rows/export/jobs/" + job.getId()
                 ));
     }
 
-    @GetMapping("/export")
-    public ResponseEntity<byte[]> exportData(
-            @RequestParam(defaultValue = "csv") String format) {
+    @GetMapping("/export/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getExportJob(@PathVariable String jobId) {
+        Optional<Job> job = jobRegistry.find(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
 
-        LOG.info("Export requested in format: {}", format);
+        Map<String, Object> response = job.get().toSummary();
+        if (job.get().getStatus() == JobStatus.COMPLETED) {
+            response.put("downloadUrl", "/rows/export/jobs/" + jobId + "/download");
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/export/jobs/{jobId}/download")
+    public ResponseEntity<?> downloadExportJob(@PathVariable String jobId) {
+        Optional<Job> job = jobRegistry.find(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (job.get().getStatus() != JobStatus.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Export job is " + job.get().getStatus()));
+        }
+
+        Path file = (Path) job.get().getResult();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(XLSX_CONTENT_TYPE));
+        headers.setContentDispositionFormData("attachment", "export_" + jobId + ".xlsx");
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(new FileSystemResource(file));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportData(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean parallel,
+            @RequestParam(required = false) String compression,
+            @RequestParam(required = false) Long sinceId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime sinceCreatedAt,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletRequest request) {
+
+        LOG.info("Export requested in format: {}, parallel: {}", format, parallel);
 
         try {
-            ExportService.ExportResult result = exportService.export(format);
+            ExportEncoding encoding = ExportEncoding.negotiate(compression, acceptEncoding);
+
+            // Read before the export, so the tag is never newer than the exported rows
+            String etag = etag(tableVersion.getVersion(), encoding.getToken());
+            if (etagMatches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                        .build();
+            }
+
+            ExportService.ExportResult result = sinceId != null || sinceCreatedAt != null
+                    ? exportService.exportSince(format, encoding, sinceId, sinceCreatedAt)
+                    : exportService.export(format, encoding);
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.parseMediaType(result.getContentType()));
             headers.setContentDispositionFormData("attachment", result.getFileName());
+            headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+            headers.setETag(etag);
+            if (result.getContentEncoding() != null) {
+                headers.set(HttpHeaders.CONTENT_ENCODING, result.getContentEncoding());
+            }
+
+            ExportCache.CachedExport cached = result.getCachedExport();
+            if (result.isDelta()) {
+                headers.set("X-Next-Cursor", result.getNextCursorName() + "=" + result.getNextCursor());
+            } else {
+                headers.set("X-Export-Cache", cached != null ? "HIT" : "MISS");
+            }
+
+            if (cached != null) {
+                headers.setContentLength(cached.getSize());
+                // Zero-copy through Tomcat's sendfile where the connector supports it, else a buffered copy
+                if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                    request.setAttribute(SENDFILE_FILENAME, cached.getFile().toString());
+                    request.setAttribute(SENDFILE_START, 0L);
+                    request.setAttribute(SENDFILE_END, cached.getSize());
+                    return ResponseEntity.ok()
+                            .headers(headers)
+                            .build();
+                }
+                return ResponseEntity.ok()
+                        .headers(headers)
+                        .body(out -> exportService.transferCached(result, out));
+            }
+
+            // Deltas are bounded by the change rate, so they are always read with a single cursor
+            StreamingResponseBody body = parallel && !result.isDelta()
+                    ? out -> exportService.writeParallelTo(result, out)
+                    : out -> exportService.writeTo(result, out);
 
             return ResponseEntity.ok()
                     .headers(headers)
-                    .body(result.getData());
+                    .body(body);
 
         } catch (IllegalArgumentException e) {
+            byte[] error = ("Error: " + e.getMessage()).getBytes();
             return ResponseEntity.badRequest()
-                    .body(("Error: " + e.getMessage()).getBytes());
+                    .body(out -> out.write(error));
+        }
+    }
+
+    /**
+     * Strong ETag of the table contents at {@code version}; {@code variant} tells apart
+     * representations served from the same URL.
+     */
+    private String etag(long version, String variant) {
+        return etag(tableVersion.tag(version), variant);
+    }
+
+    private static String etag(String tag, String variant) {
+        return "\"" + tag + "-" + variant + "\"";
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // If-None-Match uses the weak comparison
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
         }
+        return false;
     }
 }
@@ -0,0 +1,82 @@
+package com.sap.dto;
+
+import com.sap.entity.TableRow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position of the last row of a keyset page. Serialized as an opaque URL-safe token that also
+ * carries the sort order, so a token can only be used to continue the listing it came from.
+ */
+public final class RowCursor {
+
+    public enum Sort {
+        ID, CREATED_AT;
+
+        public static Sort fromParameter(String value) {
+            return switch (value) {
+                case "id" -> ID;
+                case "createdAt" -> CREATED_AT;
+                default -> throw new IllegalArgumentException("Unsupported sort: " + value);
+            };
+        }
+    }
+
+    private final Sort sort;
+    private final long id;
+    private final LocalDateTime createdAt;
+
+    private RowCursor(Sort sort, long id, LocalDateTime createdAt) {
+        this.sort = sort;
+        this.id = id;
+        this.createdAt = createdAt;
+    }
+
+    public static RowCursor after(Sort sort, TableRow row) {
+        return new RowCursor(sort, row.getId(), sort == Sort.CREATED_AT ? row.getCreatedAt() : null);
+    }
+
+    public static RowCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+            if (parts.length == 2 && parts[0].equals("i")) {
+                return new RowCursor(Sort.ID, Long.parseLong(parts[1]), null);
+            }
+            if (parts.length == 4 && parts[0].equals("c")) {
+                LocalDateTime createdAt = LocalDateTime.ofEpochSecond(
+                        Long.parseLong(parts[1]), Integer.parseInt(parts[2]), ZoneOffset.UTC);
+                return new RowCursor(Sort.CREATED_AT, Long.parseLong(parts[3]), createdAt);
+            }
+        } catch (RuntimeException e) {
+            // Not base64 or not a number; reported below
+        }
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+
+    /**
+     * Whether {@code row} comes strictly after this position in its sort order; a missing
+     * {@code createdAt} sorts first.
+     */
+    public boolean precedes(TableRow row) {
+        long rowId = row.getId() == null ? 0 : row.getId();
+        if (sort == Sort.CREATED_AT && !Objects.equals(row.getCreatedAt(), createdAt)) {
+            return row.getCreatedAt() != null && (createdAt == null || row.getCreatedAt().isAfter(createdAt));
+        }
+        return rowId > id;
+    }
+
+    public String encode() {
+        String value = sort == Sort.ID
+                ? "i:" + id
+                : "c:" + createdAt.toEpochSecond(ZoneOffset.UTC) + ":" + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Sort getSort() { return sort; }
+    public long getId() { return id; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
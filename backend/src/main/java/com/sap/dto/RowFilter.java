@@ -0,0 +1,51 @@
+package com.sap.dto;
+
+import com.sap.entity.TableRow;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criteria of {@code GET /rows/query}. Every criterion is optional; type number bounds are
+ * inclusive, the {@code createdAt} window is {@code [createdFrom, createdTo)}.
+ */
+public record RowFilter(String typeSelector,
+                        Integer minTypeNumber,
+                        Integer maxTypeNumber,
+                        LocalDateTime createdFrom,
+                        LocalDateTime createdTo) {
+
+    public static final RowFilter ANY = new RowFilter(null, null, null, null, null);
+
+    public RowFilter {
+        if (minTypeNumber != null && maxTypeNumber != null && minTypeNumber > maxTypeNumber) {
+            throw new IllegalArgumentException("minTypeNumber must not exceed maxTypeNumber");
+        }
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new IllegalArgumentException("createdFrom must be before createdTo");
+        }
+    }
+
+    /**
+     * Whether {@code row} meets every criterion. Like the SQL comparisons, a missing value never
+     * meets a bound.
+     */
+    public boolean matches(TableRow row) {
+        if (typeSelector != null && !typeSelector.equals(row.getTypeSelector())) {
+            return false;
+        }
+        Integer typeNumber = row.getTypeNumber();
+        if ((minTypeNumber != null || maxTypeNumber != null) && typeNumber == null) {
+            return false;
+        }
+        if ((minTypeNumber != null && typeNumber < minTypeNumber)
+                || (maxTypeNumber != null && typeNumber > maxTypeNumber)) {
+            return false;
+        }
+        LocalDateTime createdAt = row.getCreatedAt();
+        if ((createdFrom != null || createdTo != null) && createdAt == null) {
+            return false;
+        }
+        return (createdFrom == null || !createdAt.isBefore(createdFrom))
+                && (createdTo == null || createdAt.isBefore(createdTo));
+    }
+}
@@ -0,0 +1,27 @@
+package com.sap.event;
+
+import org.springframework.context.ApplicationEvent;
+import com.sap.entity.TableRow;
+
+/**
+ * Published by {@link TableRowEntityListener} for every row inserted into or removed from
+ * {@code table_row}, whichever code path did it. Listeners that maintain derived state should
+ * use {@code @TransactionalEventListener(fallbackExecution = true)} so rolled-back changes are
+ * never applied.
+ */
+public class TableRowChangedEvent extends ApplicationEvent {
+
+    public enum Type { CREATED, DELETED }
+
+    private final Type type;
+    private final TableRow row;
+
+    public TableRowChangedEvent(Object source, Type type, TableRow row) {
+        super(source);
+        this.type = type;
+        this.row = row;
+    }
+
+    public Type getType() { return type; }
+    public TableRow getRow() { return row; }
+}
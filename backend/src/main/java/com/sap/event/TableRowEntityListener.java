@@ -0,0 +1,41 @@
+package com.sap.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PrePersist;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import com.sap.entity.TableRow;
+import com.sap.service.PendingInsertTracker;
+
+/**
+ * JPA callbacks for {@link TableRow}; Hibernate resolves this listener through Spring's bean
+ * container, so it sees inserts and deletes from the services, bulk paths and repositories alike.
+ */
+@Component
+public class TableRowEntityListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PendingInsertTracker pendingInserts;
+
+    // Runs before the entity's own callback sets createdAt
+    @PrePersist
+    public void beforePersist(TableRow row) {
+        pendingInserts.beforeInsert();
+    }
+
+    @PostPersist
+    public void onPersist(TableRow row) {
+        pendingInserts.afterInsert(row);
+        eventPublisher.publishEvent(new TableRowChangedEvent(this, TableRowChangedEvent.Type.CREATED, row));
+    }
+
+    @PostRemove
+    public void onRemove(TableRow row) {
+        eventPublisher.publishEvent(new TableRowChangedEvent(this, TableRowChangedEvent.Type.DELETED, row));
+    }
+}
@@ -0,0 +1,250 @@
+package com.sap.export;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typed, columnar binary export ({@code format=columnar}). All fixed-width integers are
+ * big-endian; "varint" is an unsigned LEB128 value, "zigzag" a signed value zigzag-encoded
+ * into a varint.
+ *
+ * <pre>
+ * file      := MAGIC rowGroup* int32(0)
+ * MAGIC     := "TRCOL1"
+ * rowGroup  := int32 rowCount, column{5}
+ * column    := int32 byteLength, payload[byteLength]
+ *
+ * id            zigzag delta from the previous id in the group (first one from 0)
+ * typeNumber    zigzag per row
+ * typeSelector  varint dictSize, (varint length, UTF-8)*dictSize, varint code per row
+ *               (0 = null, n = n-th dictionary entry)
+ * createdAt     int64 epoch microseconds per row, wall clock read as UTC, MIN_VALUE = null
+ * typeFreeText  varint (length + 1) then UTF-8 per row, 0 = null
+ * </pre>
+ *
+ * Rows are written in groups of at most {@link #ROW_GROUP_SIZE}, so the writer holds one
+ * group in memory and a reader can skip any column of a group using its byte length. Columns
+ * are encoded into reusable byte arrays and each group reaches the stream in one write.
+ */
+@Component("columnarExport")
+public class ColumnarExportStrategy implements ExportStrategy {
+
+    public static final int ROW_GROUP_SIZE = 4096;
+
+    static final byte[] MAGIC = "TRCOL1".getBytes(StandardCharsets.US_ASCII);
+
+    @Override
+    public void writeHeader(OutputStream out) throws IOException {
+        out.write(MAGIC);
+    }
+
+    @Override
+    public RowEncoder openRows(OutputStream out) {
+        RowGroup group = new RowGroup();
+
+        return new RowEncoder() {
+            @Override
+            public void row(long id, int typeNumber, CharSequence typeSelector, CharSequence typeFreeText,
+                            LocalDateTime createdAt) throws IOException {
+                group.add(id, typeNumber, typeSelector, typeFreeText, createdAt);
+                if (group.size == ROW_GROUP_SIZE) {
+                    group.writeTo(out);
+                }
+            }
+
+            @Override
+            public void finish() throws IOException {
+                if (group.size > 0) {
+                    group.writeTo(out);
+                }
+            }
+        };
+    }
+
+    @Override
+    public void writeFooter(OutputStream out) throws IOException {
+        out.write(new byte[4]);
+    }
+
+    @Override
+    public String getContentType() {
+        return "application/octet-stream";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "tcol";
+    }
+
+    private static final class RowGroup {
+        private final long[] ids = new long[ROW_GROUP_SIZE];
+        private final int[] typeNumbers = new int[ROW_GROUP_SIZE];
+        private final int[] selectorCodes = new int[ROW_GROUP_SIZE];
+        private final long[] createdAt = new long[ROW_GROUP_SIZE];
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> dictionaryEntries = new ArrayList<>();
+        private final Bytes freeText = new Bytes();
+        private final Bytes column = new Bytes();
+        private final Bytes frame = new Bytes();
+        private int size;
+
+        void add(long id, int typeNumber, CharSequence typeSelector, CharSequence text, LocalDateTime created) {
+            ids[size] = id;
+            typeNumbers[size] = typeNumber;
+            selectorCodes[size] = code(typeSelector);
+            createdAt[size] = epochMicros(created);
+
+            if (text == null) {
+                freeText.writeVarLong(0);
+            } else {
+                byte[] utf8 = text.toString().getBytes(StandardCharsets.UTF_8);
+                freeText.writeVarLong(utf8.length + 1L);
+                freeText.write(utf8);
+            }
+            size++;
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            frame.writeInt(size);
+
+            long previousId = 0;
+            for (int i = 0; i < size; i++) {
+                column.writeZigZag(ids[i] - previousId);
+                previousId = ids[i];
+            }
+            closeColumn(column);
+
+            for (int i = 0; i < size; i++) {
+                column.writeZigZag(typeNumbers[i]);
+            }
+            closeColumn(column);
+
+            column.writeVarLong(dictionaryEntries.size());
+            for (String entry : dictionaryEntries) {
+                byte[] utf8 = entry.getBytes(StandardCharsets.UTF_8);
+                column.writeVarLong(utf8.length);
+                column.write(utf8);
+            }
+            for (int i = 0; i < size; i++) {
+                column.writeVarLong(selectorCodes[i]);
+            }
+            closeColumn(column);
+
+            for (int i = 0; i < size; i++) {
+                column.writeLong(createdAt[i]);
+            }
+            closeColumn(column);
+
+            closeColumn(freeText);
+
+            frame.writeTo(out);
+            reset();
+        }
+
+        private void closeColumn(Bytes payload) {
+            frame.writeInt(payload.size);
+            frame.write(payload.bytes, 0, payload.size);
+            payload.reset();
+        }
+
+        private int code(CharSequence selector) {
+            if (selector == null) {
+                return 0;
+            }
+            String key = selector.toString();
+            Integer code = dictionary.get(key);
+            if (code == null) {
+                dictionaryEntries.add(key);
+                code = dictionaryEntries.size();
+                dictionary.put(key, code);
+            }
+            return code;
+        }
+
+        private void reset() {
+            dictionary.clear();
+            dictionaryEntries.clear();
+            freeText.reset();
+            frame.reset();
+            size = 0;
+        }
+    }
+
+    static long epochMicros(LocalDateTime value) {
+        if (value == null) {
+            return Long.MIN_VALUE;
+        }
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+    }
+
+    /**
+     * Growable byte array with the fixed-width and variable-length encodings of the format.
+     * Unlike {@code ByteArrayOutputStream} it does not lock per byte.
+     */
+    private static final class Bytes {
+        private byte[] bytes = new byte[16 * 1024];
+        private int size;
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(4);
+            bytes[size++] = (byte) (value >>> 24);
+            bytes[size++] = (byte) (value >>> 16);
+            bytes[size++] = (byte) (value >>> 8);
+            bytes[size++] = (byte) value;
+        }
+
+        void write(byte[] source) {
+            write(source, 0, source.length);
+        }
+
+        void write(byte[] source, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(source, offset, bytes, size, length);
+            size += length;
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(bytes, 0, size);
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(size + extra, bytes.length * 2));
+            }
+        }
+    }
+}
@@ -1,29 +1,54 @@
 package com.sap.export;
 
-import com.sap.entity.TableRow;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.time.LocalDateTime;
 
 @Component("csvExport")
 public class CsvExportStrategy implements ExportStrategy {
 
-    @Override
-    public byte[] export(List<TableRow> data) {
-        StringBuilder csv = new StringBuilder();
+    private static final byte[] HEADER =
+            "ID,Type Number,Type Selector,Type Free Text,Created At\n".getBytes(StandardCharsets.UTF_8);
 
-        csv.append("ID,Type Number,Type Selector,Type Free Text,Created At\n");
+    private static final int BUFFER_SIZE = 8192;
 
-        for (TableRow row : data) {
-            csv.append(row.getId()).append(",")
-                    .append(row.getTypeNumber()).append(",")
-                    .append(escapeCsv(row.getTypeSelector())).append(",")
-                    .append(escapeCsv(row.getTypeFreeText())).append(",")
-                    .append(row.getCreatedAt()).append("\n");
-        }
+    @Override
+    public void writeHeader(OutputStream out) throws IOException {
+        out.write(HEADER);
+    }
 
-        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    @Override
+    public RowEncoder openRows(OutputStream out) {
+        Utf8Buffer csv = new Utf8Buffer(out, BUFFER_SIZE);
+
+        return new RowEncoder() {
+            @Override
+            public void row(long id, int typeNumber, CharSequence typeSelector, CharSequence typeFreeText,
+                            LocalDateTime createdAt) throws IOException {
+                csv.writeLong(id);
+                csv.writeByte(',');
+                csv.writeLong(typeNumber);
+                csv.writeByte(',');
+                csv.writeCsvField(typeSelector);
+                csv.writeByte(',');
+                csv.writeCsvField(typeFreeText);
+                csv.writeByte(',');
+                csv.writeDateTime(createdAt);
+                csv.writeByte('\n');
+            }
+
+            @Override
+            public void finish() throws IOException {
+                csv.flush();
+            }
+        };
+    }
+
+    @Override
+    public void writeFooter(OutputStream out) {
     }
 
     @Override
@@ -35,12 +60,4 @@ public class CsvExportStrategy implements ExportStrategy {
     public String getFileExtension() {
         return "csv";
     }
-
-    private String escapeCsv(String value) {
-        if (value == null) return "";
-        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
-            return "\"" + value.replace("\"", "\"\"") + "\"";
-        }
-        return value;
-    }
-}
\ No newline at end of file
+}
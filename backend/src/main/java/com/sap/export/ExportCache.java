@@ -0,0 +1,247 @@
+package com.sap.export;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded, LRU cache of finished export files on local disk. Keys must be valid file
+ * names and should embed the table version, so an entry never has to be invalidated; entries
+ * of older versions simply stop being requested and are evicted.
+ */
+@Component
+public class ExportCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExportCache.class);
+
+    private static final String SUFFIX = ".export";
+
+    // A file handed out by lookup() is not deleted for this long, so it can still be opened
+    private static final long EVICTION_GRACE_MILLIS = 60_000;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long maxBytes;
+    private final LinkedHashMap<String, CachedExport> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public ExportCache(@Value("${export.cache.enabled:true}") boolean enabled,
+                       @Value("${export.cache.dir:${java.io.tmpdir}/table-row-export-cache}") String directory,
+                       @Value("${export.cache.max-size-mb:512}") long maxSizeMb,
+                       MeterRegistry registry) throws IOException {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory).toAbsolutePath();
+        this.maxBytes = maxSizeMb * 1024 * 1024;
+
+        this.hits = Counter.builder("export.cache.requests")
+                .description("Export cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+        this.misses = Counter.builder("export.cache.requests")
+                .description("Export cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("export.cache.size", this, ExportCache::getTotalBytes)
+                .description("Bytes held in the export cache")
+                .baseUnit("bytes")
+                .register(registry);
+
+        if (enabled) {
+            Files.createDirectories(this.directory);
+            purgeDirectory();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized CachedExport lookup(String key) {
+        if (!enabled) {
+            return null;
+        }
+        CachedExport entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        entry.lastAccess = System.currentTimeMillis();
+        hits.increment();
+        return entry;
+    }
+
+    /**
+     * Starts writing a new entry. The file only becomes visible to {@link #lookup} once the
+     * returned pending export is committed.
+     */
+    public PendingExport begin(String key) throws IOException {
+        Path tempFile = Files.createTempFile(directory, "pending-", ".tmp");
+        return new PendingExport(key, tempFile);
+    }
+
+    /**
+     * Copies a cached file to {@code out} through a small buffer. This is the fallback for
+     * connectors without sendfile; where Tomcat supports it the controller hands the file to
+     * sendfile instead, which is the zero-copy path.
+     */
+    public long transferTo(CachedExport entry, OutputStream out) throws IOException {
+        return Files.copy(entry.getFile(), out);
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private synchronized void store(String key, String stalePrefix, Path tempFile) throws IOException {
+        long size = Files.size(tempFile);
+        if (entries.containsKey(key) || size > maxBytes) {
+            Files.deleteIfExists(tempFile);
+            return;
+        }
+
+        Path target = directory.resolve(key + SUFFIX);
+        Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        entries.put(key, new CachedExport(target, size));
+        totalBytes += size;
+
+        evict(stalePrefix, key);
+    }
+
+    private void evict(String stalePrefix, String keep) {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, CachedExport>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, CachedExport> eldest = iterator.next();
+            CachedExport entry = eldest.getValue();
+            if (now - entry.lastAccess < EVICTION_GRACE_MILLIS) {
+                // Iteration is in access order, everything after this is in use as well
+                break;
+            }
+            boolean stale = stalePrefix != null
+                    && eldest.getKey().startsWith(stalePrefix)
+                    && !eldest.getKey().equals(keep);
+            if (totalBytes > maxBytes || stale) {
+                iterator.remove();
+                totalBytes -= entry.getSize();
+                deleteQuietly(entry.getFile());
+            }
+        }
+    }
+
+    private void purgeDirectory() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(SUFFIX) || name.startsWith("pending-")) {
+                    deleteQuietly(file);
+                }
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("Could not delete cached export {}", file, e);
+        }
+    }
+
+    public static class CachedExport {
+        private final Path file;
+        private final long size;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        CachedExport(Path file, long size) {
+            this.file = file;
+            this.size = size;
+        }
+
+        public Path getFile() { return file; }
+        public long getSize() { return size; }
+    }
+
+    /**
+     * An export being written to the cache while it is streamed to the client.
+     */
+    public class PendingExport {
+        private final String key;
+        private final Path tempFile;
+        private final OutputStream fileOut;
+        private boolean closed;
+
+        private PendingExport(String key, Path tempFile) throws IOException {
+            this.key = key;
+            this.tempFile = tempFile;
+            this.fileOut = new BufferedOutputStream(Files.newOutputStream(tempFile), 64 * 1024);
+        }
+
+        /**
+         * Returns a stream that writes to both {@code out} and the cache file.
+         */
+        public OutputStream tee(OutputStream out) {
+            return new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    fileOut.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    fileOut.write(b, off, len);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    out.flush();
+                }
+            };
+        }
+
+        /**
+         * Publishes the file under its key and drops other entries starting with
+         * {@code stalePrefix} (typically the same export at older table versions).
+         */
+        public void commit(String stalePrefix) throws IOException {
+            close();
+            store(key, stalePrefix, tempFile);
+        }
+
+        public void abort() {
+            try {
+                close();
+            } catch (IOException e) {
+                LOG.debug("Failed to close pending export {}", tempFile, e);
+            }
+            deleteQuietly(tempFile);
+        }
+
+        private void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                fileOut.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.sap.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content codings supported by the export endpoint. {@code gzip} favours ratio, {@code deflate}
+ * runs zlib at its fastest level for links where CPU rather than bandwidth is the bottleneck.
+ * Declared in server preference order.
+ */
+public enum ExportEncoding {
+
+    GZIP("gzip") {
+        @Override
+        public OutputStream encode(OutputStream out) throws IOException {
+            return new GzipStream(out);
+        }
+    },
+    DEFLATE("deflate") {
+        @Override
+        public OutputStream encode(OutputStream out) {
+            return new FastDeflateStream(out);
+        }
+    },
+    IDENTITY("identity") {
+        @Override
+        public OutputStream encode(OutputStream out) {
+            return out;
+        }
+    };
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String token;
+
+    ExportEncoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * The {@code Content-Encoding} token for this coding.
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Wraps {@code out} so that everything written is encoded. The returned stream must be
+     * completed with {@link #finish(OutputStream)}, or released with {@link #abort(OutputStream)}
+     * when writing fails; it never closes {@code out}.
+     */
+    public abstract OutputStream encode(OutputStream out) throws IOException;
+
+    public static void finish(OutputStream encoder) throws IOException {
+        if (encoder instanceof DeflaterOutputStream deflater) {
+            deflater.finish();
+        }
+        encoder.flush();
+    }
+
+    /**
+     * Frees the native compressor of an encoder that will not be finished. Nothing more is
+     * written to {@code out}; calling it after {@link #finish(OutputStream)} is harmless.
+     */
+    public static void abort(OutputStream encoder) {
+        if (encoder instanceof Releasable releasable) {
+            releasable.release();
+        }
+    }
+
+    /**
+     * An explicit {@code compression} parameter wins; otherwise the best coding accepted by
+     * the {@code Accept-Encoding} header is used, falling back to identity.
+     */
+    public static ExportEncoding negotiate(String compression, String acceptEncoding) {
+        if (compression != null && !compression.isBlank()) {
+            return fromToken(compression.trim());
+        }
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return IDENTITY;
+        }
+
+        ExportEncoding best = IDENTITY;
+        double bestQuality = 0;
+        for (ExportEncoding encoding : values()) {
+            double quality = quality(acceptEncoding, encoding.token);
+            if (quality > bestQuality) {
+                best = encoding;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    public static ExportEncoding fromToken(String token) {
+        String normalized = token.toLowerCase(Locale.ROOT);
+        if (normalized.equals("none")) {
+            return IDENTITY;
+        }
+        for (ExportEncoding encoding : values()) {
+            if (encoding.token.equals(normalized)) {
+                return encoding;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported compression: " + token);
+    }
+
+    private static double quality(String acceptEncoding, String token) {
+        double wildcard = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.trim().split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            if (!coding.equals(token) && !coding.equals("*")) {
+                continue;
+            }
+
+            double quality = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+
+            if (coding.equals(token)) {
+                return quality;
+            }
+            wildcard = quality;
+        }
+
+        // identity stays acceptable unless it (or *) is explicitly refused
+        if (wildcard >= 0) {
+            return wildcard;
+        }
+        return token.equals("identity") ? 0.001 : 0;
+    }
+
+    private interface Releasable {
+        void release();
+    }
+
+    private static final class GzipStream extends GZIPOutputStream implements Releasable {
+
+        GzipStream(OutputStream out) throws IOException {
+            super(out, BUFFER_SIZE);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            try {
+                super.finish();
+            } finally {
+                def.end();
+            }
+        }
+
+        @Override
+        public void release() {
+            def.end();
+        }
+    }
+
+    private static final class FastDeflateStream extends DeflaterOutputStream implements Releasable {
+
+        FastDeflateStream(OutputStream out) {
+            super(out, new Deflater(Deflater.BEST_SPEED), BUFFER_SIZE);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            try {
+                super.finish();
+            } finally {
+                def.end();
+            }
+        }
+
+        @Override
+        public void release() {
+            def.end();
+        }
+    }
+}
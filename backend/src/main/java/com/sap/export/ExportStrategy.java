@@ -1,10 +1,53 @@
 package com.sap.export;
 
 import com.sap.entity.TableRow;
-import java.util.List;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Encodes rows into an export document. A document is a header, any number of row blocks and
+ * a footer; row blocks may be encoded independently (e.g. one per id range, in parallel) and
+ * are joined with {@link #getRowSeparator()}. Implementations must not close {@code out}.
+ */
 public interface ExportStrategy {
-    byte[] export(List<TableRow> data);
+
+    byte[] NO_SEPARATOR = new byte[0];
+
+    void writeHeader(OutputStream out) throws IOException;
+
+    /**
+     * Starts a row block on {@code out}. Consecutive rows inside the block are separated by the
+     * strategy itself; no separator is written before the first row. The block is complete once
+     * {@link RowEncoder#finish()} has been called.
+     */
+    RowEncoder openRows(OutputStream out) throws IOException;
+
+    /**
+     * Encodes the rows as they are pulled from the stream as one row block.
+     */
+    default void writeRows(Stream<TableRow> rows, OutputStream out) throws IOException {
+        RowEncoder encoder = openRows(out);
+        encoder.encode(rows);
+        encoder.finish();
+    }
+
+    void writeFooter(OutputStream out) throws IOException;
+
+    /**
+     * Bytes written between two non-empty row blocks.
+     */
+    default byte[] getRowSeparator() {
+        return NO_SEPARATOR;
+    }
+
+    default void export(Stream<TableRow> rows, OutputStream out) throws IOException {
+        writeHeader(out);
+        writeRows(rows, out);
+        writeFooter(out);
+    }
+
     String getContentType();
     String getFileExtension();
-}
\ No newline at end of file
+}
@@ -1,25 +1,61 @@
 package com.sap.export;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.sap.entity.TableRow;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 
 @Component("jsonExport")
 public class JsonExportStrategy implements ExportStrategy {
 
-    @Autowired
-    private ObjectMapper objectMapper;
+    private static final byte[] SEPARATOR = {','};
+
+    private static final int BUFFER_SIZE = 8192;
+
+    @Override
+    public void writeHeader(OutputStream out) throws IOException {
+        out.write('[');
+    }
 
     @Override
-    public byte[] export(List<TableRow> data) {
-        try {
-            return objectMapper.writeValueAsBytes(data);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to export to JSON", e);
-        }
+    public RowEncoder openRows(OutputStream out) {
+        // Rows are written as separate values so a block can be encoded on its own; the
+        // array brackets come from the header and footer
+        Utf8Buffer json = new Utf8Buffer(out, BUFFER_SIZE);
+        boolean lineDelimited = isLineDelimited();
+
+        return new RowEncoder() {
+            private boolean first = true;
+
+            @Override
+            public void row(long id, int typeNumber, CharSequence typeSelector, CharSequence typeFreeText,
+                            LocalDateTime createdAt) throws IOException {
+                if (!first && !lineDelimited) {
+                    json.writeByte(',');
+                }
+                first = false;
+                TableRowJsonWriter.writeRow(json, id, typeNumber, typeSelector, typeFreeText, createdAt);
+                if (lineDelimited) {
+                    json.writeByte('\n');
+                }
+            }
+
+            @Override
+            public void finish() throws IOException {
+                json.flush();
+            }
+        };
+    }
+
+    @Override
+    public void writeFooter(OutputStream out) throws IOException {
+        out.write(']');
+    }
+
+    @Override
+    public byte[] getRowSeparator() {
+        return SEPARATOR;
     }
 
     @Override
@@ -31,4 +67,11 @@ public class JsonExportStrategy implements ExportStrategy {
     public String getFileExtension() {
         return "json";
     }
-}
\ No newline at end of file
+
+    /**
+     * Whether every row is written as its own line, without the array around the rows.
+     */
+    protected boolean isLineDelimited() {
+        return false;
+    }
+}
@@ -0,0 +1,43 @@
+package com.sap.export;
+
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+
+/**
+ * Newline-delimited JSON: one row object per line, as written by {@link JsonExportStrategy}.
+ * Consumers can process rows as they arrive instead of parsing one large array.
+ */
+@Component("ndjsonExport")
+public class NdjsonExportStrategy extends JsonExportStrategy {
+
+    public static final String CONTENT_TYPE = "application/x-ndjson";
+
+    @Override
+    public void writeHeader(OutputStream out) {
+    }
+
+    @Override
+    public void writeFooter(OutputStream out) {
+    }
+
+    @Override
+    public byte[] getRowSeparator() {
+        return NO_SEPARATOR;
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "ndjson";
+    }
+
+    @Override
+    protected boolean isLineDelimited() {
+        return true;
+    }
+}
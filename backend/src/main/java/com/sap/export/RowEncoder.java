@@ -0,0 +1,41 @@
+package com.sap.export;
+
+import com.sap.entity.TableRow;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Receives the columns of one row at a time, so a row source can hand over values straight
+ * from a JDBC {@code ResultSet} without building a {@code TableRow} per row. Values passed in
+ * are only valid for the duration of the call. Null ids and type numbers are passed as 0.
+ */
+@FunctionalInterface
+public interface RowEncoder {
+
+    void row(long id, int typeNumber, CharSequence typeSelector, CharSequence typeFreeText,
+             LocalDateTime createdAt) throws IOException;
+
+    /**
+     * Passes each entity of the stream to {@link #row}.
+     */
+    default void encode(Stream<TableRow> rows) throws IOException {
+        Iterator<TableRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            TableRow row = iterator.next();
+            row(row.getId() == null ? 0 : row.getId(),
+                    row.getTypeNumber() == null ? 0 : row.getTypeNumber(),
+                    row.getTypeSelector(),
+                    row.getTypeFreeText(),
+                    row.getCreatedAt());
+        }
+    }
+
+    /**
+     * Writes out anything still buffered after the last row. {@code out} is not closed.
+     */
+    default void finish() throws IOException {
+    }
+}
@@ -0,0 +1,120 @@
+package com.sap.export;
+
+import com.sap.entity.TableRow;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Hand-written JSON for {@link TableRow} and the {@code GET /rows} page, written through a
+ * {@link Utf8Buffer} without reflection or intermediate maps. Property names, order and value
+ * formats are those Jackson produces for the entity with the application's settings.
+ */
+public final class TableRowJsonWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final byte[] ID = bytes("{\"id\":");
+    private static final byte[] TYPE_NUMBER = bytes(",\"typeNumber\":");
+    private static final byte[] TYPE_SELECTOR = bytes(",\"typeSelector\":");
+    private static final byte[] TYPE_FREE_TEXT = bytes(",\"typeFreeText\":");
+    private static final byte[] CREATED_AT = bytes(",\"createdAt\":");
+    private static final byte[] NULL = bytes("null");
+
+    private static final byte[] DATA = bytes("{\"data\":[");
+    private static final byte[] SIZE = bytes("],\"size\":");
+    private static final byte[] PAGE = bytes(",\"page\":");
+    private static final byte[] TOTAL_COUNT = bytes(",\"totalCount\":");
+
+    private TableRowJsonWriter() {
+    }
+
+    public static void writeRow(Utf8Buffer out, long id, int typeNumber, CharSequence typeSelector,
+                                CharSequence typeFreeText, LocalDateTime createdAt) throws IOException {
+        out.write(ID);
+        out.writeLong(id);
+        out.write(TYPE_NUMBER);
+        out.writeLong(typeNumber);
+        writeStrings(out, typeSelector, typeFreeText, createdAt);
+    }
+
+    public static void writeRow(Utf8Buffer out, TableRow row) throws IOException {
+        out.write(ID);
+        out.writeNumber(row.getId());
+        out.write(TYPE_NUMBER);
+        out.writeNumber(row.getTypeNumber());
+        writeStrings(out, row.getTypeSelector(), row.getTypeFreeText(), row.getCreatedAt());
+    }
+
+    /**
+     * Writes {@code {"data":[rows],"size":s,"page":p,"totalCount":n}} and flushes {@code out}, in
+     * the order the {@code HashMap} body used to be serialized in.
+     */
+    public static void writePage(OutputStream out, List<TableRow> rows, long totalCount, int page, int size)
+            throws IOException {
+        Utf8Buffer buffer = new Utf8Buffer(out, BUFFER_SIZE);
+        writePageHead(buffer, rows, page, size);
+        writeTotalCount(buffer, totalCount);
+        buffer.flush();
+    }
+
+    /**
+     * Writes the page up to but excluding its total count; {@link #writeTotalCount} completes
+     * it. Lets the rows be serialized once while the count keeps changing.
+     */
+    public static void writePageHead(OutputStream out, List<TableRow> rows, int page, int size) throws IOException {
+        Utf8Buffer buffer = new Utf8Buffer(out, BUFFER_SIZE);
+        writePageHead(buffer, rows, page, size);
+        buffer.flush();
+    }
+
+    public static void writeTotalCount(OutputStream out, long totalCount) throws IOException {
+        Utf8Buffer buffer = new Utf8Buffer(out, 32);
+        writeTotalCount(buffer, totalCount);
+        buffer.flush();
+    }
+
+    private static void writePageHead(Utf8Buffer buffer, List<TableRow> rows, int page, int size) throws IOException {
+        buffer.write(DATA);
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) {
+                buffer.writeByte(',');
+            }
+            writeRow(buffer, rows.get(i));
+        }
+        buffer.write(SIZE);
+        buffer.writeLong(size);
+        buffer.write(PAGE);
+        buffer.writeLong(page);
+    }
+
+    private static void writeTotalCount(Utf8Buffer buffer, long totalCount) throws IOException {
+        buffer.write(TOTAL_COUNT);
+        buffer.writeLong(totalCount);
+        buffer.writeByte('}');
+    }
+
+    private static void writeStrings(Utf8Buffer out, CharSequence typeSelector, CharSequence typeFreeText,
+                                     LocalDateTime createdAt) throws IOException {
+        out.write(TYPE_SELECTOR);
+        out.writeJsonString(typeSelector);
+        out.write(TYPE_FREE_TEXT);
+        out.writeJsonString(typeFreeText);
+        out.write(CREATED_AT);
+        if (createdAt == null) {
+            out.write(NULL);
+        } else {
+            out.writeByte('"');
+            out.writeIsoDateTime(createdAt);
+            out.writeByte('"');
+        }
+        out.writeByte('}');
+    }
+
+    private static byte[] bytes(String ascii) {
+        return ascii.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,346 @@
+package com.sap.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Reusable byte buffer for text export formats. Fields are scanned once and written as
+ * escaped UTF-8 directly into the buffer; numbers and timestamps are formatted digit by digit,
+ * so encoding a row allocates nothing. Output is byte-for-byte what {@code String.valueOf}
+ * and an {@code OutputStreamWriter} (or, for the JSON methods, Jackson) would have produced.
+ */
+public final class Utf8Buffer {
+
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] AMP = {'&', 'a', 'm', 'p', ';'};
+    private static final byte[] LT = {'&', 'l', 't', ';'};
+    private static final byte[] GT = {'&', 'g', 't', ';'};
+    private static final byte[] QUOT = {'&', 'q', 'u', 'o', 't', ';'};
+    private static final byte[] APOS = {'&', 'a', 'p', 'o', 's', ';'};
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream out;
+    private byte[] buffer;
+    private int position;
+
+    public Utf8Buffer(OutputStream out, int capacity) {
+        this.out = out;
+        this.buffer = new byte[capacity];
+    }
+
+    public void write(byte[] bytes) throws IOException {
+        require(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    public void writeByte(char c) throws IOException {
+        require(1);
+        buffer[position++] = (byte) c;
+    }
+
+    /**
+     * Writes the decimal form of {@code value}, or {@code null}.
+     */
+    public void writeNumber(Number value) throws IOException {
+        if (value == null) {
+            write(NULL);
+        } else {
+            writeLong(value.longValue());
+        }
+    }
+
+    public void writeLong(long number) throws IOException {
+        if (number == Long.MIN_VALUE) {
+            writeAscii(Long.toString(number));
+            return;
+        }
+        require(20);
+        if (number < 0) {
+            buffer[position++] = '-';
+            number = -number;
+        }
+        int end = position + digitCount(number);
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + number % 10);
+            number /= 10;
+        }
+        position = end;
+    }
+
+    /**
+     * Writes {@code value} in the ISO form of {@link LocalDateTime#toString()}, or {@code null}.
+     */
+    public void writeDateTime(LocalDateTime value) throws IOException {
+        if (value == null) {
+            write(NULL);
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            writeAscii(value.toString());
+            return;
+        }
+        require(29);
+        writeDigits(year, 4);
+        buffer[position++] = '-';
+        writeDigits(value.getMonthValue(), 2);
+        buffer[position++] = '-';
+        writeDigits(value.getDayOfMonth(), 2);
+        buffer[position++] = 'T';
+        writeDigits(value.getHour(), 2);
+        buffer[position++] = ':';
+        writeDigits(value.getMinute(), 2);
+
+        int second = value.getSecond();
+        int nano = value.getNano();
+        if (second > 0 || nano > 0) {
+            buffer[position++] = ':';
+            writeDigits(second, 2);
+            if (nano > 0) {
+                buffer[position++] = '.';
+                if (nano % 1_000_000 == 0) {
+                    writeDigits(nano / 1_000_000, 3);
+                } else if (nano % 1000 == 0) {
+                    writeDigits(nano / 1000, 6);
+                } else {
+                    writeDigits(nano, 9);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes {@code value} as {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} formats it, which is
+     * what Jackson writes for a {@link LocalDateTime}: seconds always present, the fraction
+     * without trailing zeros. Writes {@code null} for a null value.
+     */
+    public void writeIsoDateTime(LocalDateTime value) throws IOException {
+        if (value == null) {
+            write(NULL);
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            writeAscii(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+            return;
+        }
+        require(29);
+        writeDigits(year, 4);
+        buffer[position++] = '-';
+        writeDigits(value.getMonthValue(), 2);
+        buffer[position++] = '-';
+        writeDigits(value.getDayOfMonth(), 2);
+        buffer[position++] = 'T';
+        writeDigits(value.getHour(), 2);
+        buffer[position++] = ':';
+        writeDigits(value.getMinute(), 2);
+        buffer[position++] = ':';
+        writeDigits(value.getSecond(), 2);
+
+        int nano = value.getNano();
+        if (nano > 0) {
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            buffer[position++] = '.';
+            writeDigits(nano, width);
+        }
+    }
+
+    /**
+     * Writes {@code value} as a quoted JSON string, escaped the way Jackson escapes it by
+     * default, or {@code null}.
+     */
+    public void writeJsonString(CharSequence value) throws IOException {
+        if (value == null) {
+            write(NULL);
+            return;
+        }
+        int length = value.length();
+        // Worst case is a six byte unicode escape per char plus the quotes
+        require(6 * length + 2);
+        buffer[position++] = '"';
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                i = writeNonAscii(value, i, c);
+            } else if (c == '"' || c == '\\') {
+                buffer[position++] = '\\';
+                buffer[position++] = (byte) c;
+            } else if (c < 0x20) {
+                writeControlEscape(c);
+            } else {
+                buffer[position++] = (byte) c;
+            }
+        }
+        buffer[position++] = '"';
+    }
+
+    /**
+     * Writes a CSV field, quoted only when it contains a comma, quote or newline. A null value
+     * is written as an empty field.
+     */
+    public void writeCsvField(CharSequence value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        int length = value.length();
+        // Worst case is three bytes per char plus the enclosing quotes
+        require(3 * length + 2);
+        int start = position;
+        boolean quoted = false;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                i = writeNonAscii(value, i, c);
+                continue;
+            }
+            if (c == '"' || c == ',' || c == '\n') {
+                if (!quoted) {
+                    // Rare path: open the quote in front of what was already written
+                    System.arraycopy(buffer, start, buffer, start + 1, position - start);
+                    buffer[start] = '"';
+                    position++;
+                    quoted = true;
+                }
+                if (c == '"') {
+                    buffer[position++] = '"';
+                }
+            }
+            buffer[position++] = (byte) c;
+        }
+        if (quoted) {
+            buffer[position++] = '"';
+        }
+    }
+
+    /**
+     * Writes XML character data with the five predefined entities escaped. A null value is
+     * written as empty content.
+     */
+    public void writeXmlText(CharSequence value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        int length = value.length();
+        // Worst case is a six byte entity per char
+        require(6 * length);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> put(AMP);
+                case '<' -> put(LT);
+                case '>' -> put(GT);
+                case '"' -> put(QUOT);
+                case '\'' -> put(APOS);
+                default -> {
+                    if (c < 0x80) {
+                        buffer[position++] = (byte) c;
+                    } else {
+                        i = writeNonAscii(value, i, c);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes out everything buffered so far and flushes the underlying stream.
+     */
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    private void writeAscii(String value) throws IOException {
+        require(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            buffer[position++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeControlEscape(char c) {
+        buffer[position++] = '\\';
+        switch (c) {
+            case '\b' -> buffer[position++] = 'b';
+            case '\t' -> buffer[position++] = 't';
+            case '\n' -> buffer[position++] = 'n';
+            case '\f' -> buffer[position++] = 'f';
+            case '\r' -> buffer[position++] = 'r';
+            default -> {
+                buffer[position++] = 'u';
+                buffer[position++] = '0';
+                buffer[position++] = '0';
+                buffer[position++] = HEX[c >> 4];
+                buffer[position++] = HEX[c & 0xF];
+            }
+        }
+    }
+
+    private void writeDigits(int value, int width) {
+        for (int i = position + width - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += width;
+    }
+
+    // Encodes the char at index i (and its low surrogate, if paired) and returns the last index consumed
+    private int writeNonAscii(CharSequence value, int i, char c) {
+        if (c < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (!Character.isSurrogate(c)) {
+            buffer[position++] = (byte) (0xE0 | (c >> 12));
+            buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(i + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(++i));
+            buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else {
+            // Unpaired surrogate: same replacement the JDK encoder uses
+            buffer[position++] = '?';
+        }
+        return i;
+    }
+
+    private void put(byte[] bytes) {
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void require(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            drain();
+            if (bytes > buffer.length) {
+                buffer = new byte[Math.max(bytes, buffer.length * 2)];
+            }
+        }
+    }
+
+    private void drain() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static int digitCount(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+}
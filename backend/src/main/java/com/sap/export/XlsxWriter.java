@@ -0,0 +1,250 @@
+package com.sap.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streaming XLSX (SpreadsheetML) writer. Cells are written straight into a buffered writer over
+ * the zip entry, which is flushed every {@code windowSize} rows; strings are stored inline
+ * instead of in a shared-strings table, and the workbook parts are written last. Memory use is
+ * therefore bounded by the writer's buffer regardless of the number of rows; a new sheet is
+ * started whenever the Excel row limit is reached.
+ */
+public class XlsxWriter {
+
+    public static final int MAX_ROWS_PER_SHEET = 1_048_576;
+
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String PACKAGE_REL_NS = "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    // Excel serial day number of 1970-01-01
+    private static final long EPOCH_SERIAL_DAY = 25569;
+    private static final double NANOS_PER_DAY = 86_400_000_000_000.0;
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final ZipOutputStream zip;
+    private final Writer writer;
+    private final String sheetName;
+    private final String[] headers;
+    private final int windowSize;
+
+    private int windowRows;
+    private int sheetCount;
+    private int rowsInSheet;
+    private boolean sheetOpen;
+    private boolean rowOpen;
+
+    public XlsxWriter(OutputStream out, String sheetName, String[] headers, int windowSize) {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.sheetName = sheetName;
+        this.headers = headers.clone();
+        this.windowSize = windowSize;
+    }
+
+    public XlsxWriter startRow() throws IOException {
+        if (!sheetOpen || rowsInSheet == MAX_ROWS_PER_SHEET) {
+            if (sheetOpen) {
+                closeSheet();
+            }
+            openSheet();
+        }
+        appendRowStart();
+        return this;
+    }
+
+    public XlsxWriter numberCell(long value) throws IOException {
+        writer.write("<c><v>");
+        writer.write(Long.toString(value));
+        writer.write("</v></c>");
+        return this;
+    }
+
+    public XlsxWriter stringCell(CharSequence value) throws IOException {
+        if (value == null) {
+            writer.write("<c/>");
+            return this;
+        }
+        writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+        writeEscaped(value.toString());
+        writer.write("</t></is></c>");
+        return this;
+    }
+
+    public XlsxWriter dateCell(LocalDateTime value) throws IOException {
+        if (value == null) {
+            writer.write("<c/>");
+            return this;
+        }
+        double serial = value.toLocalDate().toEpochDay() + EPOCH_SERIAL_DAY
+                + value.toLocalTime().toNanoOfDay() / NANOS_PER_DAY;
+        // Style 1 is the built-in date-time format declared in styles.xml
+        writer.write("<c s=\"1\"><v>");
+        writer.write(Double.toString(serial));
+        writer.write("</v></c>");
+        return this;
+    }
+
+    public void endRow() throws IOException {
+        writer.write("</row>");
+        rowOpen = false;
+        if (++windowRows == windowSize) {
+            flushWindow();
+        }
+    }
+
+    /**
+     * Completes the workbook. The underlying stream is flushed but not closed.
+     */
+    public void finish() throws IOException {
+        if (rowOpen) {
+            endRow();
+        }
+        if (!sheetOpen && sheetCount == 0) {
+            openSheet();
+        }
+        if (sheetOpen) {
+            closeSheet();
+        }
+
+        writeEntry("[Content_Types].xml", contentTypes());
+        writeEntry("_rels/.rels", XML_DECLARATION
+                + "<Relationships xmlns=\"" + PACKAGE_REL_NS + "\">"
+                + "<Relationship Id=\"rId1\" Type=\"" + REL_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                + "</Relationships>");
+        writeEntry("xl/workbook.xml", workbook());
+        writeEntry("xl/_rels/workbook.xml.rels", workbookRelationships());
+        writeEntry("xl/styles.xml", styles());
+
+        zip.finish();
+        zip.flush();
+    }
+
+    private void openSheet() throws IOException {
+        sheetCount++;
+        rowsInSheet = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetCount + ".xml"));
+        writer.write(XML_DECLARATION);
+        writer.write("<worksheet xmlns=\"" + MAIN_NS + "\"><sheetData>");
+        sheetOpen = true;
+
+        appendRowStart();
+        for (String header : headers) {
+            stringCell(header);
+        }
+        endRow();
+    }
+
+    private void appendRowStart() throws IOException {
+        rowsInSheet++;
+        writer.write("<row r=\"");
+        writer.write(Integer.toString(rowsInSheet));
+        writer.write("\">");
+        rowOpen = true;
+    }
+
+    private void closeSheet() throws IOException {
+        flushWindow();
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+        zip.closeEntry();
+        sheetOpen = false;
+    }
+
+    private void flushWindow() throws IOException {
+        writer.flush();
+        windowRows = 0;
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.write(content);
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    /**
+     * Writes runs of plain characters in one call and only the escapes one by one.
+     */
+    private void writeEscaped(String value) throws IOException {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String escape = switch (c) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                // Control characters other than tab and line breaks are not allowed in XML 1.0
+                default -> c >= 0x20 || c == '\t' || c == '\n' || c == '\r' ? null : "";
+            };
+            if (escape != null) {
+                writer.write(value, start, i - start);
+                writer.write(escape);
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+    }
+
+    private String contentTypes() {
+        StringBuilder xml = new StringBuilder(XML_DECLARATION)
+                .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+                .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+                .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>")
+                .append("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        for (int sheet = 1; sheet <= sheetCount; sheet++) {
+            xml.append("<Override PartName=\"/xl/worksheets/sheet").append(sheet)
+                    .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        return xml.append("</Types>").toString();
+    }
+
+    private String workbook() {
+        StringBuilder xml = new StringBuilder(XML_DECLARATION)
+                .append("<workbook xmlns=\"").append(MAIN_NS).append("\" xmlns:r=\"").append(REL_NS).append("\"><sheets>");
+        for (int sheet = 1; sheet <= sheetCount; sheet++) {
+            String name = sheetCount == 1 ? sheetName : sheetName + " " + sheet;
+            xml.append("<sheet name=\"").append(name).append("\" sheetId=\"").append(sheet)
+                    .append("\" r:id=\"rId").append(sheet).append("\"/>");
+        }
+        return xml.append("</sheets></workbook>").toString();
+    }
+
+    private String workbookRelationships() {
+        StringBuilder xml = new StringBuilder(XML_DECLARATION)
+                .append("<Relationships xmlns=\"").append(PACKAGE_REL_NS).append("\">");
+        for (int sheet = 1; sheet <= sheetCount; sheet++) {
+            xml.append("<Relationship Id=\"rId").append(sheet).append("\" Type=\"").append(REL_NS)
+                    .append("/worksheet\" Target=\"worksheets/sheet").append(sheet).append(".xml\"/>");
+        }
+        xml.append("<Relationship Id=\"rId").append(sheetCount + 1).append("\" Type=\"").append(REL_NS)
+                .append("/styles\" Target=\"styles.xml\"/>");
+        return xml.append("</Relationships>").toString();
+    }
+
+    private static String styles() {
+        return XML_DECLARATION
+                + "<styleSheet xmlns=\"" + MAIN_NS + "\">"
+                + "<fonts count=\"1\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+                + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>"
+                + "<fill><patternFill patternType=\"gray125\"/></fill></fills>"
+                + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+                + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+                + "<cellXfs count=\"2\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+                + "<xf numFmtId=\"22\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/></cellXfs>"
+                + "<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>"
+                + "</styleSheet>";
+    }
+}
@@ -1,32 +1,64 @@
 package com.sap.export;
 
-import com.sap.entity.TableRow;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.time.LocalDateTime;
 
 @Component("xmlExport")
 public class XmlExportStrategy implements ExportStrategy {
 
+    private static final byte[] HEADER =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<rows>\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FOOTER = "</rows>".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] ROW_START = ascii("  <row>\n    <id>");
+    private static final byte[] TYPE_NUMBER = ascii("</id>\n    <typeNumber>");
+    private static final byte[] TYPE_SELECTOR = ascii("</typeNumber>\n    <typeSelector>");
+    private static final byte[] TYPE_FREE_TEXT = ascii("</typeSelector>\n    <typeFreeText>");
+    private static final byte[] CREATED_AT = ascii("</typeFreeText>\n    <createdAt>");
+    private static final byte[] ROW_END = ascii("</createdAt>\n  </row>\n");
+
+    private static final int BUFFER_SIZE = 8192;
+
+    @Override
+    public void writeHeader(OutputStream out) throws IOException {
+        out.write(HEADER);
+    }
+
+    @Override
+    public RowEncoder openRows(OutputStream out) {
+        Utf8Buffer xml = new Utf8Buffer(out, BUFFER_SIZE);
+
+        return new RowEncoder() {
+            @Override
+            public void row(long id, int typeNumber, CharSequence typeSelector, CharSequence typeFreeText,
+                            LocalDateTime createdAt) throws IOException {
+                xml.write(ROW_START);
+                xml.writeLong(id);
+                xml.write(TYPE_NUMBER);
+                xml.writeLong(typeNumber);
+                xml.write(TYPE_SELECTOR);
+                xml.writeXmlText(typeSelector);
+                xml.write(TYPE_FREE_TEXT);
+                xml.writeXmlText(typeFreeText);
+                xml.write(CREATED_AT);
+                xml.writeDateTime(createdAt);
+                xml.write(ROW_END);
+            }
+
+            @Override
+            public void finish() throws IOException {
+                xml.flush();
+            }
+        };
+    }
+
     @Override
-    public byte[] export(List<TableRow> data) {
-        StringBuilder xml = new StringBuilder();
-        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
-        xml.append("<rows>\n");
-
-        for (TableRow row : data) {
-            xml.append("  <row>\n");
-            xml.append("    <id>").append(row.getId()).append("</id>\n");
-            xml.append("    <typeNumber>").append(row.getTypeNumber()).append("</typeNumber>\n");
-            xml.append("    <typeSelector>").append(escapeXml(row.getTypeSelector())).append("</typeSelector>\n");
-            xml.append("    <typeFreeText>").append(escapeXml(row.getTypeFreeText())).append("</typeFreeText>\n");
-            xml.append("    <createdAt>").append(row.getCreatedAt()).append("</createdAt>\n");
-            xml.append("  </row>\n");
-        }
-
-        xml.append("</rows>");
-        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    public void writeFooter(OutputStream out) throws IOException {
+        out.write(FOOTER);
     }
 
     @Override
@@ -39,12 +71,7 @@ public class XmlExportStrategy implements ExportStrategy {
         return "xml";
     }
 
-    private String escapeXml(String value) {
-        if (value == null) return "";
-        return value.replace("&", "&amp;")
-                .replace("<", "&lt;")
-                .replace(">", "&gt;")
-                .replace("\"", "&quot;")
-                .replace("'", "&apos;");
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
     }
-}
\ No newline at end of file
+}
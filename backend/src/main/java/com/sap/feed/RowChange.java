@@ -0,0 +1,19 @@
+package com.sap.feed;
+
+import com.sap.entity.TableRow;
+
+/**
+ * One entry of the change feed. {@code seq} numbers committed changes from 1 in commit order.
+ * A {@code resync} entry carries no row: the subscriber missed changes and should reload,
+ * then continue after {@code seq}.
+ */
+public record RowChange(long seq, String type, TableRow row) {
+
+    public static final String CREATED = "created";
+    public static final String DELETED = "deleted";
+    public static final String RESYNC = "resync";
+
+    static RowChange resync(long seq) {
+        return new RowChange(seq, RESYNC, null);
+    }
+}
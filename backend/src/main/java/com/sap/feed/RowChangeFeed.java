@@ -0,0 +1,217 @@
+package com.sap.feed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sap.event.TableRowChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feed of committed row inserts and deletes for clients that would otherwise poll
+ * {@code GET /rows}. Changes are numbered and the most recent ones are kept, so a client can
+ * resume after the last number it saw. Every streaming subscriber has a bounded buffer; one
+ * that falls behind has its buffer dropped and is told to resync instead of slowing writers.
+ * Numbers restart with the process; a cursor ahead of the feed is answered with a resync.
+ */
+@Component
+public class RowChangeFeed {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RowChangeFeed.class);
+
+    private static final byte[] HEARTBEAT = ": heartbeat\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final ObjectMapper objectMapper;
+    private final int historySize;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration heartbeat;
+
+    // Guarded by this
+    private final ArrayDeque<RowChange> history = new ArrayDeque<>();
+    private long sequence;
+
+    private final Set<Subscription> subscribers = ConcurrentHashMap.newKeySet();
+
+    public RowChangeFeed(ObjectMapper objectMapper,
+                         @Value("${rows.feed.history-size:1000}") int historySize,
+                         @Value("${rows.feed.subscriber-buffer:256}") int bufferSize,
+                         @Value("${rows.feed.max-subscribers:100}") int maxSubscribers,
+                         @Value("${rows.feed.heartbeat:15s}") Duration heartbeat) {
+        this.objectMapper = objectMapper;
+        this.historySize = historySize;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeat = heartbeat;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTableRowChanged(TableRowChangedEvent event) {
+        String type = event.getType() == TableRowChangedEvent.Type.CREATED ? RowChange.CREATED : RowChange.DELETED;
+        RowChange change = new RowChange(++sequence, type, event.getRow());
+
+        history.addLast(change);
+        if (history.size() > historySize) {
+            history.removeFirst();
+        }
+        for (Subscription subscription : subscribers) {
+            subscription.offer(change);
+        }
+        // Wakes long polls waiting in awaitAfter
+        notifyAll();
+    }
+
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Starts buffering changes after {@code after} ({@code null} for changes from now on).
+     *
+     * @throws IllegalStateException when {@code rows.feed.max-subscribers} are connected
+     */
+    public synchronized Subscription subscribe(Long after) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many change feed subscribers");
+        }
+        Subscription subscription = new Subscription(bufferSize);
+        if (after != null) {
+            List<RowChange> missed = changesAfter(after);
+            if (missed == null) {
+                subscription.overflowed = true;
+            } else {
+                missed.forEach(subscription::offer);
+            }
+        }
+        subscribers.add(subscription);
+        LOG.debug("Change feed subscriber added, {} connected", subscribers.size());
+        return subscription;
+    }
+
+    /**
+     * Changes after {@code after}, waiting up to {@code wait} for the first one. A single
+     * resync entry is returned when they are no longer all in the history.
+     */
+    public synchronized List<RowChange> awaitAfter(long after, Duration wait) throws InterruptedException {
+        long deadline = System.nanoTime() + wait.toNanos();
+        long remaining = wait.toNanos();
+        while (sequence == after && remaining > 0) {
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+        List<RowChange> changes = changesAfter(after);
+        return changes != null ? changes : List.of(RowChange.resync(sequence));
+    }
+
+    /**
+     * Writes the subscription as {@code text/event-stream} until the client goes away, with a
+     * comment line as heartbeat when nothing happened for {@code rows.feed.heartbeat}.
+     */
+    public void writeEvents(Subscription subscription, OutputStream out) throws IOException {
+        try (subscription) {
+            out.write(HEARTBEAT);
+            out.flush();
+            while (true) {
+                RowChange change = subscription.poll(heartbeat);
+                if (change == null) {
+                    out.write(HEARTBEAT);
+                } else {
+                    do {
+                        out.write(("id: " + change.seq() + "\nevent: " + change.type() + "\ndata: ")
+                                .getBytes(StandardCharsets.US_ASCII));
+                        out.write(objectMapper.writeValueAsBytes(change));
+                        out.write('\n');
+                        out.write('\n');
+                        change = subscription.poll(Duration.ZERO);
+                    } while (change != null);
+                }
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes {@code changes} as newline-delimited JSON.
+     */
+    public void writeLines(List<RowChange> changes, OutputStream out) throws IOException {
+        for (RowChange change : changes) {
+            // writeValue(OutputStream, ...) would close the response
+            out.write(objectMapper.writeValueAsBytes(change));
+            out.write('\n');
+        }
+    }
+
+    // null when changes after the cursor have already left the history
+    private List<RowChange> changesAfter(long after) {
+        if (after > sequence) {
+            return null;
+        }
+        long oldest = history.isEmpty() ? sequence + 1 : history.getFirst().seq();
+        if (after + 1 < oldest) {
+            return null;
+        }
+        List<RowChange> changes = new ArrayList<>();
+        for (RowChange change : history) {
+            if (change.seq() > after) {
+                changes.add(change);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Buffered changes of one streaming client; close it when the client is gone.
+     */
+    public final class Subscription implements AutoCloseable {
+
+        private final BlockingQueue<RowChange> buffer;
+        private volatile boolean overflowed;
+
+        private Subscription(int bufferSize) {
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        /**
+         * The next change, a resync entry if changes were dropped, or {@code null} if
+         * nothing happened within {@code timeout}.
+         */
+        public RowChange poll(Duration timeout) throws InterruptedException {
+            if (overflowed) {
+                synchronized (RowChangeFeed.this) {
+                    buffer.clear();
+                    overflowed = false;
+                    return RowChange.resync(sequence);
+                }
+            }
+            return buffer.poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void close() {
+            subscribers.remove(this);
+            LOG.debug("Change feed subscriber removed, {} connected", subscribers.size());
+        }
+
+        private void offer(RowChange change) {
+            if (!overflowed && !buffer.offer(change)) {
+                overflowed = true;
+            }
+        }
+    }
+}
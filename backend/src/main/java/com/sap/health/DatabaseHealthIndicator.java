@@ -4,18 +4,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.stereotype.Component;
-import com.sap.repository.TableRowRepository;
+import com.sap.service.RowCountService;
 
 @Component
 public class DatabaseHealthIndicator implements HealthIndicator {
 
     @Autowired
-    private TableRowRepository repository;
+    private RowCountService rowCount;
 
     @Override
     public Health health() {
         try {
-            long count = repository.count();
+            long count = rowCount.getCount();
             return Health.up()
                     .withDetail("total_rows", count)
                     .withDetail("database", "H2")
@@ -0,0 +1,162 @@
+package com.sap.ingest;
+
+import com.sap.dto.CreateTableRowRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * CSV with a header row naming the typeNumber, typeSelector and typeFreeText columns, either as
+ * field names or as the headings of the CSV export ({@code Type Number}, ...). Other columns are
+ * ignored, so an export can be imported again. Fields follow RFC 4180: quoted fields may contain
+ * commas, doubled quotes and line breaks.
+ */
+public class CsvRowSource implements RowSource {
+
+    // Bounds a record, so a missing closing quote cannot pull the rest of the body into memory
+    private static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    private final Reader in;
+    private final int typeNumberColumn;
+    private final int typeSelectorColumn;
+    private final int typeFreeTextColumn;
+
+    private final StringBuilder field = new StringBuilder();
+    private long nextLine = 1;
+    private long line;
+    private boolean finished;
+
+    public CsvRowSource(InputStream in, Charset charset) throws IOException {
+        this.in = new BufferedReader(new InputStreamReader(in, charset));
+
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV header is missing");
+        }
+        if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+            header.set(0, header.get(0).substring(1));
+        }
+        this.typeNumberColumn = column(header, "typenumber");
+        this.typeSelectorColumn = column(header, "typeselector");
+        this.typeFreeTextColumn = column(header, "typefreetext");
+    }
+
+    @Override
+    public CreateTableRowRequest next() throws IOException {
+        List<String> record = readRecord();
+        while (record != null && record.size() == 1 && record.get(0).isEmpty()) {
+            record = readRecord();
+        }
+        if (record == null) {
+            return null;
+        }
+
+        CreateTableRowRequest row = new CreateTableRowRequest();
+        String typeNumber = get(record, typeNumberColumn);
+        if (typeNumber != null && !typeNumber.isBlank()) {
+            try {
+                row.setTypeNumber(Integer.valueOf(typeNumber.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Line " + line + ": Type Number is not a number: " + typeNumber);
+            }
+        }
+        row.setTypeSelector(get(record, typeSelectorColumn));
+        row.setTypeFreeText(get(record, typeFreeTextColumn));
+        return row;
+    }
+
+    @Override
+    public long getLine() {
+        return line;
+    }
+
+    private static int column(List<String> header, String name) {
+        for (int i = 0; i < header.size(); i++) {
+            String normalized = header.get(i).replace(" ", "").replace("_", "").toLowerCase(Locale.ROOT);
+            if (normalized.equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(
+                "CSV header must name the typeNumber, typeSelector and typeFreeText columns");
+    }
+
+    private static String get(List<String> record, int column) {
+        return column < record.size() ? record.get(column) : null;
+    }
+
+    // null at the end of the input
+    private List<String> readRecord() throws IOException {
+        if (finished) {
+            return null;
+        }
+        line = nextLine;
+        List<String> record = new ArrayList<>();
+        field.setLength(0);
+        int length = 0;
+        boolean quoted = false;
+        boolean empty = true;
+
+        while (true) {
+            int c = in.read();
+            if (c == -1) {
+                if (quoted) {
+                    throw new IllegalArgumentException("Line " + line + ": unterminated quoted field");
+                }
+                finished = true;
+                if (empty) {
+                    return null;
+                }
+                record.add(stripCarriageReturn(field));
+                return record;
+            }
+            empty = false;
+            if (++length > MAX_RECORD_CHARS) {
+                throw new IllegalArgumentException("Line " + line + ": record exceeds " + MAX_RECORD_CHARS + " characters");
+            }
+
+            if (quoted) {
+                if (c == '"') {
+                    in.mark(1);
+                    if (in.read() == '"') {
+                        field.append('"');
+                    } else {
+                        in.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        nextLine++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                nextLine++;
+                record.add(stripCarriageReturn(field));
+                return record;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private static String stripCarriageReturn(StringBuilder field) {
+        int end = field.length();
+        if (end > 0 && field.charAt(end - 1) == '\r') {
+            end--;
+        }
+        return field.substring(0, end);
+    }
+}
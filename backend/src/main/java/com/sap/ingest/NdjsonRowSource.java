@@ -0,0 +1,45 @@
+package com.sap.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sap.dto.CreateTableRowRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Newline-delimited JSON, one row object per line. Properties other than the request fields
+ * are ignored, so the output of {@code GET /rows/stream} can be imported again.
+ */
+public class NdjsonRowSource implements RowSource {
+
+    private final MappingIterator<CreateTableRowRequest> rows;
+    private long line;
+
+    public NdjsonRowSource(ObjectMapper objectMapper, InputStream in) throws IOException {
+        this.rows = objectMapper.readerFor(CreateTableRowRequest.class).readValues(in);
+    }
+
+    @Override
+    public CreateTableRowRequest next() throws IOException {
+        try {
+            if (!rows.hasNextValue()) {
+                return null;
+            }
+            CreateTableRowRequest row = rows.nextValue();
+            line = rows.getParser().currentTokenLocation().getLineNr();
+            return row;
+        } catch (JsonProcessingException e) {
+            long errorLine = e.getLocation() != null
+                    ? e.getLocation().getLineNr()
+                    : rows.getParser().currentLocation().getLineNr();
+            throw new IllegalArgumentException("Line " + errorLine + ": " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public long getLine() {
+        return line;
+    }
+}
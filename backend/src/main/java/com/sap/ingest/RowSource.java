@@ -0,0 +1,22 @@
+package com.sap.ingest;
+
+import com.sap.dto.CreateTableRowRequest;
+
+import java.io.IOException;
+
+/**
+ * Rows parsed one at a time from an import body, so only the current row is held in memory.
+ * Malformed input is reported as an {@link IllegalArgumentException} naming the line.
+ */
+public interface RowSource {
+
+    /**
+     * The next row, or {@code null} at the end of the input.
+     */
+    CreateTableRowRequest next() throws IOException;
+
+    /**
+     * Line of the input (from 1) on which the row last returned by {@link #next()} starts.
+     */
+    long getLine();
+}
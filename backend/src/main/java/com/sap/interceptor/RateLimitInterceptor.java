@@ -26,6 +26,12 @@ public class RateLimitInterceptor implements HandlerInterceptor {
     @Autowired
     private org.springframework.core.env.Environment environment;
 
+    @Value("${rate-limit.capacity:10}")
+    private int capacity;
+
+    @Value("${rate-limit.refill-period:10s}")
+    private Duration refillPeriod;
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
 
@@ -47,7 +53,7 @@ public class RateLimitInterceptor implements HandlerInterceptor {
     }
 
     private Bucket createNewBucket() {
-        Bandwidth limit = Bandwidth.classic(10, Refill.intervally(10, Duration.ofSeconds(10)));
+        Bandwidth limit = Bandwidth.classic(capacity, Refill.intervally(capacity, refillPeriod));
         return Bucket.builder()
                 .addLimit(limit)
                 .build();
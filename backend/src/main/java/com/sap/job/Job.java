@@ -0,0 +1,105 @@
+package com.sap.job;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A unit of background work tracked by {@link JobRegistry}. Progress is counted in items
+ * (rows); {@code total} is -1 while unknown.
+ */
+public class Job {
+
+    private final String id;
+    private final String type;
+    private final Instant createdAt = Instant.now();
+    private final AtomicLong processed = new AtomicLong();
+    private volatile JobStatus status = JobStatus.QUEUED;
+    private volatile long total = -1;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile Object result;
+    private volatile Runnable cleanup;
+
+    Job(String id, String type) {
+        this.id = id;
+        this.type = type;
+    }
+
+    public void start(long total) {
+        this.total = total;
+        this.startedAt = Instant.now();
+        this.status = JobStatus.RUNNING;
+    }
+
+    public void setProcessed(long processed) {
+        this.processed.set(processed);
+    }
+
+    public void addProcessed(long delta) {
+        this.processed.addAndGet(delta);
+    }
+
+    public void complete(Object result) {
+        this.result = result;
+        this.finishedAt = Instant.now();
+        this.status = JobStatus.COMPLETED;
+    }
+
+    public void fail(Throwable cause) {
+        fail(cause, null);
+    }
+
+    /**
+     * Fails the job but keeps what it produced, e.g. a report of the parts that succeeded.
+     */
+    public void fail(Throwable cause, Object partialResult) {
+        this.result = partialResult;
+        this.error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        this.finishedAt = Instant.now();
+        this.status = JobStatus.FAILED;
+    }
+
+    /**
+     * Runs when the job is evicted from the registry, e.g. to delete a result file.
+     */
+    public void onCleanup(Runnable cleanup) {
+        this.cleanup = cleanup;
+    }
+
+    void cleanup() {
+        Runnable action = cleanup;
+        if (action != null) {
+            action.run();
+        }
+    }
+
+    public String getId() { return id; }
+    public String getType() { return type; }
+    public JobStatus getStatus() { return status; }
+    public long getProcessed() { return processed.get(); }
+    public long getTotal() { return total; }
+    public String getError() { return error; }
+    public Object getResult() { return result; }
+
+    public Map<String, Object> toSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("jobId", id);
+        summary.put("type", type);
+        summary.put("status", status);
+        summary.put("processed", processed.get());
+        summary.put("total", total);
+        if (total > 0) {
+            summary.put("progress", Math.min(100.0, processed.get() * 100.0 / total));
+        }
+        summary.put("createdAt", createdAt.toString());
+        summary.put("startedAt", startedAt != null ? startedAt.toString() : null);
+        summary.put("finishedAt", finishedAt != null ? finishedAt.toString() : null);
+        if (error != null) {
+            summary.put("error", error);
+        }
+        return summary;
+    }
+}
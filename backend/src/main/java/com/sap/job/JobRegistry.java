@@ -0,0 +1,100 @@
+package com.sap.job;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Store of background jobs. Queued and running jobs are held until they finish and are never
+ * evicted, so their results cannot be cleaned up underneath them. Finished jobs (and whatever
+ * their cleanup hook releases) expire after {@code jobs.retention-minutes}, and sooner when
+ * their results together exceed {@code jobs.max-retained-mb}.
+ */
+@Component
+public class JobRegistry {
+
+    // Weight of a job without a result; weights are in kilobytes
+    private static final int BASE_WEIGHT_KB = 1;
+
+    private final Map<String, Job> active = new ConcurrentHashMap<>();
+
+    private final Cache<String, Job> finished;
+
+    public JobRegistry(@Value("${jobs.max-retained-mb:64}") long maxRetainedMb,
+                       @Value("${jobs.retention-minutes:60}") long retentionMinutes) {
+        this.finished = Caffeine.newBuilder()
+                .maximumWeight(maxRetainedMb * 1024)
+                .weigher((String id, Job job) -> weightKb(job.getResult()))
+                .expireAfterWrite(retentionMinutes, TimeUnit.MINUTES)
+                .removalListener((String id, Job job, RemovalCause cause) -> {
+                    if (job != null && cause != RemovalCause.REPLACED) {
+                        job.cleanup();
+                    }
+                })
+                .build();
+    }
+
+    public Job create(String type) {
+        Job job = new Job(UUID.randomUUID().toString(), type);
+        active.put(job.getId(), job);
+        return job;
+    }
+
+    public Optional<Job> find(String id) {
+        Job job = active.get(id);
+        return Optional.ofNullable(job != null ? job : finished.getIfPresent(id));
+    }
+
+    /**
+     * Must be called once a job has finished so its retention period starts.
+     */
+    public void update(Job job) {
+        if (!job.getStatus().isFinished()) {
+            return;
+        }
+        // Retained before it leaves the active map, so lookups never miss it in between
+        finished.put(job.getId(), job);
+        active.remove(job.getId());
+    }
+
+    private static int weightKb(Object result) {
+        return (int) Math.min(Integer.MAX_VALUE, BASE_WEIGHT_KB + sizeOf(result) / 1024);
+    }
+
+    // Rough bytes held by a result
+    private static long sizeOf(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof long[] longs) {
+            return 16 + 8L * longs.length;
+        }
+        if (value instanceof CharSequence text) {
+            return 40 + 2L * text.length();
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = 32L * map.size();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += sizeOf(entry.getKey()) + sizeOf(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = 16L * collection.size();
+            for (Object element : collection) {
+                size += sizeOf(element);
+            }
+            return size;
+        }
+        return 64;
+    }
+}
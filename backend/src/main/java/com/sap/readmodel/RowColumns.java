@@ -0,0 +1,329 @@
+package com.sap.readmodel;
+
+import com.sap.dto.RowCursor;
+import com.sap.dto.RowFilter;
+import com.sap.entity.TableRow;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Copy of {@code table_row} held as primitive columns in id order: ids, type numbers,
+ * dictionary codes of the selectors, {@code createdAt} as UTC epoch nanos and the free texts
+ * packed into one {@code char[]} arena. {@code createdAt} is truncated to microseconds, the
+ * precision the database keeps, so a row applied from an event orders and compares the same
+ * as when it is read back. Rows are only turned into {@link TableRow} objects for
+ * the page being returned. Safe for concurrent use.
+ */
+public class RowColumns {
+
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final int NO_VALUE = -1;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private long[] ids = new long[1024];
+    private int[] typeNumbers = new int[1024];
+    private int[] selectorCodes = new int[1024];
+    private long[] createdAts = new long[1024];
+    private int[] textStarts = new int[1024];
+    private int[] textLengths = new int[1024];
+    private int size;
+
+    private final List<String> selectors = new ArrayList<>();
+    private final Map<String, Integer> selectorCodeByName = new HashMap<>();
+
+    private char[] texts = new char[16 * 1024];
+    private int textsUsed;
+    // Chars of replaced or removed rows, reclaimed by compactTexts()
+    private int textsGarbage;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds the row, or replaces the row with the same id. Has the shape of
+     * {@link com.sap.export.RowEncoder#row} so a JDBC read can feed it directly.
+     */
+    public void put(long id, int typeNumber, CharSequence typeSelector, CharSequence typeFreeText,
+                    LocalDateTime createdAt) {
+        lock.writeLock().lock();
+        try {
+            int index = size > 0 && ids[size - 1] >= id ? Arrays.binarySearch(ids, 0, size, id) : -size - 1;
+            if (index >= 0) {
+                textsGarbage += Math.max(textLengths[index], 0);
+            } else {
+                index = -index - 1;
+                ensureCapacity(size + 1);
+                shift(index, index + 1, size - index);
+                size++;
+            }
+
+            ids[index] = id;
+            typeNumbers[index] = typeNumber;
+            selectorCodes[index] = typeSelector == null ? NO_VALUE : selectorCode(typeSelector.toString());
+            createdAts[index] = createdAt == null ? NO_TIME : toEpochNanos(createdAt.truncatedTo(ChronoUnit.MICROS));
+            storeText(index, typeFreeText);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(TableRow row) {
+        put(row.getId(), row.getTypeNumber() == null ? 0 : row.getTypeNumber(),
+                row.getTypeSelector(), row.getTypeFreeText(), row.getCreatedAt());
+    }
+
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            textsGarbage += Math.max(textLengths[index], 0);
+            shift(index + 1, index, size - index - 1);
+            size--;
+            if (textsGarbage > 64 * 1024 && textsGarbage > textsUsed / 2) {
+                compactTexts();
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rows {@code [offset, offset + limit)} in id order.
+     */
+    public List<TableRow> page(long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<TableRow> rows = new ArrayList<>(limit);
+            for (long i = offset; i < size && rows.size() < limit; i++) {
+                rows.add(materialize((int) i));
+            }
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} rows matching {@code filter} strictly after {@code after}
+     * ({@code null} for the start) in {@code sort} order; same semantics as
+     * {@link com.sap.repository.TableRowSpecifications}.
+     */
+    public List<TableRow> query(RowFilter filter, RowCursor.Sort sort, RowCursor after, int limit) {
+        lock.readLock().lock();
+        try {
+            Matcher matcher = new Matcher(filter);
+            if (matcher.empty) {
+                return List.of();
+            }
+            int[] matches = sort == RowCursor.Sort.ID
+                    ? firstById(matcher, after, limit)
+                    : firstByCreatedAt(matcher, after, limit);
+
+            List<TableRow> rows = new ArrayList<>(matches.length);
+            for (int index : matches) {
+                rows.add(materialize(index));
+            }
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids are the physical order, so the scan starts right after the cursor and stops early
+    private int[] firstById(Matcher matcher, RowCursor after, int limit) {
+        int start = 0;
+        if (after != null) {
+            int found = Arrays.binarySearch(ids, 0, size, after.getId());
+            start = found >= 0 ? found + 1 : -found - 1;
+        }
+
+        int[] matches = new int[limit];
+        int count = 0;
+        for (int i = start; i < size && count < limit; i++) {
+            if (matcher.matches(i)) {
+                matches[count++] = i;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    // Full scan keeping the smallest (createdAt, id) matches in a sorted array; since ids grow
+    // with time, most later rows are rejected by a single comparison against the last slot
+    private int[] firstByCreatedAt(Matcher matcher, RowCursor after, int limit) {
+        long afterTime = after == null || after.getCreatedAt() == null
+                ? NO_TIME : toEpochNanos(after.getCreatedAt());
+        int[] best = new int[limit];
+        int count = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (after != null && compare(createdAts[i], ids[i], afterTime, after.getId()) <= 0) {
+                continue;
+            }
+            if (count == limit && compare(i, best[count - 1]) >= 0) {
+                continue;
+            }
+            if (!matcher.matches(i)) {
+                continue;
+            }
+
+            int position = count == limit ? count - 1 : count++;
+            while (position > 0 && compare(i, best[position - 1]) < 0) {
+                best[position] = best[position - 1];
+                position--;
+            }
+            best[position] = i;
+        }
+        return Arrays.copyOf(best, count);
+    }
+
+    private int compare(int left, int right) {
+        return compare(createdAts[left], ids[left], createdAts[right], ids[right]);
+    }
+
+    private static int compare(long leftTime, long leftId, long rightTime, long rightId) {
+        int byTime = Long.compare(leftTime, rightTime);
+        return byTime != 0 ? byTime : Long.compare(leftId, rightId);
+    }
+
+    private TableRow materialize(int index) {
+        int code = selectorCodes[index];
+        int length = textLengths[index];
+        long createdAt = createdAts[index];
+        return TableRow.builder()
+                .id(ids[index])
+                .typeNumber(typeNumbers[index])
+                .typeSelector(code == NO_VALUE ? null : selectors.get(code))
+                .typeFreeText(length == NO_VALUE ? null : new String(texts, textStarts[index], length))
+                .createdAt(createdAt == NO_TIME ? null : LocalDateTime.ofEpochSecond(
+                        Math.floorDiv(createdAt, NANOS_PER_SECOND),
+                        (int) Math.floorMod(createdAt, NANOS_PER_SECOND), ZoneOffset.UTC))
+                .build();
+    }
+
+    private int selectorCode(String selector) {
+        return selectorCodeByName.computeIfAbsent(selector, key -> {
+            selectors.add(key);
+            return selectors.size() - 1;
+        });
+    }
+
+    private void storeText(int index, CharSequence text) {
+        if (text == null) {
+            textStarts[index] = 0;
+            textLengths[index] = NO_VALUE;
+            return;
+        }
+        int length = text.length();
+        if (textsUsed + length > texts.length) {
+            texts = Arrays.copyOf(texts, Math.max(textsUsed + length, texts.length * 2));
+        }
+        for (int i = 0; i < length; i++) {
+            texts[textsUsed + i] = text.charAt(i);
+        }
+        textStarts[index] = textsUsed;
+        textLengths[index] = length;
+        textsUsed += length;
+    }
+
+    private void compactTexts() {
+        char[] compacted = new char[Math.max(16 * 1024, textsUsed - textsGarbage)];
+        int used = 0;
+        for (int i = 0; i < size; i++) {
+            int length = textLengths[i];
+            if (length > 0) {
+                System.arraycopy(texts, textStarts[i], compacted, used, length);
+            }
+            textStarts[i] = used;
+            used += Math.max(length, 0);
+        }
+        texts = compacted;
+        textsUsed = used;
+        textsGarbage = 0;
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(ids, from, ids, to, length);
+        System.arraycopy(typeNumbers, from, typeNumbers, to, length);
+        System.arraycopy(selectorCodes, from, selectorCodes, to, length);
+        System.arraycopy(createdAts, from, createdAts, to, length);
+        System.arraycopy(textStarts, from, textStarts, to, length);
+        System.arraycopy(textLengths, from, textLengths, to, length);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            int grown = Math.max(capacity, ids.length * 2);
+            ids = Arrays.copyOf(ids, grown);
+            typeNumbers = Arrays.copyOf(typeNumbers, grown);
+            selectorCodes = Arrays.copyOf(selectorCodes, grown);
+            createdAts = Arrays.copyOf(createdAts, grown);
+            textStarts = Arrays.copyOf(textStarts, grown);
+            textLengths = Arrays.copyOf(textLengths, grown);
+        }
+    }
+
+    private static long toEpochNanos(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + dateTime.getNano();
+    }
+
+    /**
+     * A {@link RowFilter} translated to column values once per query.
+     */
+    private final class Matcher {
+        private final int selectorCode;
+        private final int minTypeNumber;
+        private final int maxTypeNumber;
+        private final long createdFrom;
+        private final long createdTo;
+        private final boolean filtersCreatedAt;
+        private final boolean empty;
+
+        Matcher(RowFilter filter) {
+            Integer code = filter.typeSelector() == null ? null : selectorCodeByName.get(filter.typeSelector());
+            this.empty = filter.typeSelector() != null && code == null;
+            this.selectorCode = code == null ? NO_VALUE : code;
+            this.minTypeNumber = filter.minTypeNumber() == null ? Integer.MIN_VALUE : filter.minTypeNumber();
+            this.maxTypeNumber = filter.maxTypeNumber() == null ? Integer.MAX_VALUE : filter.maxTypeNumber();
+            this.filtersCreatedAt = filter.createdFrom() != null || filter.createdTo() != null;
+            this.createdFrom = filter.createdFrom() == null ? Long.MIN_VALUE : toEpochNanos(filter.createdFrom());
+            this.createdTo = filter.createdTo() == null ? Long.MAX_VALUE : toEpochNanos(filter.createdTo());
+        }
+
+        boolean matches(int index) {
+            if (selectorCode != NO_VALUE && selectorCodes[index] != selectorCode) {
+                return false;
+            }
+            int typeNumber = typeNumbers[index];
+            if (typeNumber < minTypeNumber || typeNumber > maxTypeNumber) {
+                return false;
+            }
+            if (!filtersCreatedAt) {
+                return true;
+            }
+            // Like SQL comparisons, a missing createdAt never matches a window
+            long createdAt = createdAts[index];
+            return createdAt != NO_TIME && createdAt >= createdFrom && createdAt < createdTo;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.sap.repository;
+
+import com.sap.dto.RowFilter;
+import com.sap.export.RowEncoder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads {@code table_row} straight from the {@code ResultSet} into a {@link RowEncoder}, without
+ * hydrating entities into the persistence context. Callers run inside a read-only transaction;
+ * the reads join its connection.
+ */
+@Repository
+public class TableRowJdbcReader {
+
+    private static final String SELECT =
+            "select id, type_number, type_selector, type_free_text, created_at from table_row ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public TableRowJdbcReader(DataSource dataSource, @Value("${export.jdbc.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public long readAll(RowEncoder encoder) throws IOException {
+        return read(encoder, SELECT + "order by id");
+    }
+
+    public long readByIdRange(long fromId, long toId, RowEncoder encoder) throws IOException {
+        return read(encoder, SELECT + "where id between ? and ? order by id", fromId, toId);
+    }
+
+    /**
+     * Rows with {@code from < created_at <= until}, in the same order as
+     * {@link TableRowRepository#streamByCreatedAtRange}.
+     */
+    public long readByCreatedAtRange(LocalDateTime from, LocalDateTime until, RowEncoder encoder) throws IOException {
+        return read(encoder, SELECT + "where created_at > ? and created_at <= ? order by created_at, id", from, until);
+    }
+
+    /**
+     * Rows matching {@code filter} with {@code id > afterId}, in id order, at most {@code limit}
+     * of them ({@code 0} for all). Same criteria as {@link TableRowSpecifications#matching}.
+     */
+    public long readMatching(RowFilter filter, long afterId, long limit, RowEncoder encoder) throws IOException {
+        StringBuilder sql = new StringBuilder(SELECT).append("where id > ?");
+        List<Object> args = new ArrayList<>();
+        args.add(afterId);
+        if (filter.typeSelector() != null) {
+            sql.append(" and type_selector = ?");
+            args.add(filter.typeSelector());
+        }
+        if (filter.minTypeNumber() != null) {
+            sql.append(" and type_number >= ?");
+            args.add(filter.minTypeNumber());
+        }
+        if (filter.maxTypeNumber() != null) {
+            sql.append(" and type_number <= ?");
+            args.add(filter.maxTypeNumber());
+        }
+        if (filter.createdFrom() != null) {
+            sql.append(" and created_at >= ?");
+            args.add(filter.createdFrom());
+        }
+        if (filter.createdTo() != null) {
+            sql.append(" and created_at < ?");
+            args.add(filter.createdTo());
+        }
+        sql.append(" order by id");
+        if (limit > 0) {
+            sql.append(" limit ?");
+            args.add(limit);
+        }
+        return read(encoder, sql.toString(), args.toArray());
+    }
+
+    private long read(RowEncoder encoder, String sql, Object... args) throws IOException {
+        long[] count = {0};
+        try {
+            jdbcTemplate.query(sql, resultSet -> {
+                try {
+                    encoder.row(
+                            resultSet.getLong(1),
+                            resultSet.getInt(2),
+                            resultSet.getString(3),
+                            resultSet.getString(4),
+                            resultSet.getObject(5, LocalDateTime.class));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            }, args);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count[0];
+    }
+}
@@ -0,0 +1,15 @@
+package com.sap.repository;
+
+import com.sap.entity.TableRow;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface TableRowQueryRepository {
+
+    /**
+     * First {@code size} rows matching {@code spec} in {@code sort} order, fetched with
+     * {@code limit size + 1} and without a count query.
+     */
+    Slice<TableRow> findSlice(Specification<TableRow> spec, Sort sort, int size);
+}
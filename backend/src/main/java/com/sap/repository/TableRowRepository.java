@@ -1,9 +1,100 @@
 package com.sap.repository;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.sap.entity.TableRow;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
-public interface TableRowRepository extends JpaRepository<TableRow, Long> {
+public interface TableRowRepository extends JpaRepository<TableRow, Long>, TableRowQueryRepository {
+
+    /**
+     * Forward-only cursor over the whole table in id order. Must be consumed inside a
+     * (read-only) transaction and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select r from TableRow r order by r.id")
+    Stream<TableRow> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select r from TableRow r where r.id between :fromId and :toId order by r.id")
+    Stream<TableRow> streamByIdRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * Rows with {@code from < createdAt <= until}, served by {@code idx_created_at}.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select r from TableRow r where r.createdAt > :from and r.createdAt <= :until order by r.createdAt, r.id")
+    Stream<TableRow> streamByCreatedAtRange(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until);
+
+    /**
+     * Only the columns the in-memory statistics are built from, as
+     * {@code [id, typeSelector, typeNumber, createdAt]} in id order.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select r.id, r.typeSelector, r.typeNumber, r.createdAt from TableRow r order by r.id")
+    Stream<Object[]> streamStatisticsColumns();
+
+    /**
+     * Offset page content in id order; unlike {@code findAll(Pageable)} no count query is run.
+     */
+    @Query("select r from TableRow r order by r.id")
+    List<TableRow> findPageContent(Pageable pageable);
+
+    /**
+     * Keyset page in id order. The slice is fetched with {@code limit size + 1} to tell whether
+     * there is a next page; no count query is run.
+     */
+    @Query("select r from TableRow r where r.id > :afterId order by r.id")
+    Slice<TableRow> findPageAfterId(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("select r from TableRow r order by r.createdAt, r.id")
+    Slice<TableRow> findFirstPageByCreatedAt(Pageable pageable);
+
+    /**
+     * Keyset page in {@code (createdAt, id)} order, starting after the given row.
+     */
+    @Query("select r from TableRow r where r.createdAt > :createdAt or (r.createdAt = :createdAt and r.id > :afterId) "
+            + "order by r.createdAt, r.id")
+    Slice<TableRow> findPageAfterCreatedAt(@Param("createdAt") LocalDateTime createdAt,
+                                           @Param("afterId") long afterId,
+                                           Pageable pageable);
+
+    @Query("select min(r.id) from TableRow r")
+    Long findMinId();
+
+    @Query("select max(r.id) from TableRow r")
+    Long findMaxId();
+
+    @Query("select max(r.createdAt) from TableRow r")
+    LocalDateTime findMaxCreatedAt();
 }
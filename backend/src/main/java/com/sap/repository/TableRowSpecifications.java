@@ -0,0 +1,52 @@
+package com.sap.repository;
+
+import com.sap.dto.RowCursor;
+import com.sap.dto.RowFilter;
+import com.sap.entity.TableRow;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Predicates for filtered row queries. Selector and type number criteria are served by
+ * {@code idx_selector_number} (selector first, so a type number range alone falls back to a
+ * scan), {@code createdAt} windows and ordering by {@code idx_created_at}.
+ */
+public final class TableRowSpecifications {
+
+    private TableRowSpecifications() {
+    }
+
+    public static Specification<TableRow> matching(RowFilter filter) {
+        return Specification.allOf(
+                filter.typeSelector() == null ? null : (root, query, cb) ->
+                        cb.equal(root.get("typeSelector"), filter.typeSelector()),
+                filter.minTypeNumber() == null ? null : (root, query, cb) ->
+                        cb.greaterThanOrEqualTo(root.get("typeNumber"), filter.minTypeNumber()),
+                filter.maxTypeNumber() == null ? null : (root, query, cb) ->
+                        cb.lessThanOrEqualTo(root.get("typeNumber"), filter.maxTypeNumber()),
+                filter.createdFrom() == null ? null : (root, query, cb) ->
+                        cb.greaterThanOrEqualTo(root.get("createdAt"), filter.createdFrom()),
+                filter.createdTo() == null ? null : (root, query, cb) ->
+                        cb.lessThan(root.get("createdAt"), filter.createdTo()));
+    }
+
+    /**
+     * Rows strictly after the cursor in its sort order.
+     */
+    public static Specification<TableRow> after(RowCursor cursor) {
+        if (cursor.getSort() == RowCursor.Sort.ID) {
+            return (root, query, cb) -> cb.greaterThan(root.get("id"), cursor.getId());
+        }
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("createdAt"), cursor.getCreatedAt()),
+                cb.and(
+                        cb.equal(root.get("createdAt"), cursor.getCreatedAt()),
+                        cb.greaterThan(root.get("id"), cursor.getId())));
+    }
+
+    public static Sort orderBy(RowCursor.Sort sort) {
+        return sort == RowCursor.Sort.ID
+                ? Sort.by("id")
+                : Sort.by("createdAt", "id");
+    }
+}
@@ -0,0 +1,292 @@
+package com.sap.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index from normalized tokens to the ids of the rows containing them. Posting lists
+ * are sorted {@code long[]} arrays; tokens are kept sorted so prefix terms are a range scan.
+ * Tokens are maximal runs of letters and digits, lower-cased with diacritics removed and cut
+ * to {@value #MAX_TOKEN_LENGTH} chars. Safe for concurrent use.
+ */
+public class TextIndex {
+
+    public static final int MAX_TOKEN_LENGTH = 40;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final long[] NO_IDS = new long[0];
+
+    private final TreeMap<String, PostingList> postings = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(long id, CharSequence text) {
+        Set<String> tokens = tokenize(text);
+        lock.writeLock().lock();
+        try {
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, key -> new PostingList()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id, CharSequence text) {
+        Set<String> tokens = tokenize(text);
+        lock.writeLock().lock();
+        try {
+            for (String token : tokens) {
+                PostingList list = postings.get(token);
+                if (list != null && list.remove(id) && list.size == 0) {
+                    postings.remove(token);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the contents with the union of {@code parts}, which must cover ascending,
+     * disjoint id ranges in that order, so their posting lists can simply be concatenated.
+     */
+    public void replaceWith(List<TextIndex> parts) {
+        TreeMap<String, PostingList> merged = new TreeMap<>();
+        for (TextIndex part : parts) {
+            part.postings.forEach((token, list) ->
+                    merged.computeIfAbsent(token, key -> new PostingList()).addAll(list));
+        }
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            postings.putAll(merged);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the rows containing every term of the query, ascending. A term ending in
+     * {@code *} matches any token starting with it; other terms match whole tokens.
+     */
+    public long[] search(String query) {
+        List<Term> terms = parse(query);
+        if (terms.isEmpty()) {
+            return NO_IDS;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<long[]> lists = new ArrayList<>(terms.size());
+            for (Term term : terms) {
+                long[] ids = term.prefix ? unionOfPrefix(term.text) : exact(term.text);
+                if (ids.length == 0) {
+                    return NO_IDS;
+                }
+                lists.add(ids);
+            }
+            return intersect(lists);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTokenCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Distinct normalized tokens of {@code text}, in order of first occurrence.
+     */
+    public static Set<String> tokenize(CharSequence text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean tokenChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(normalized.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static List<Term> parse(String query) {
+        List<Term> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String word : query.trim().split("\\s+")) {
+            int before = terms.size();
+            for (String token : tokenize(word)) {
+                terms.add(new Term(token, false));
+            }
+            // Only the last token of a word like "foo-ba*" is a prefix
+            if (word.endsWith("*") && terms.size() > before) {
+                Term last = terms.remove(terms.size() - 1);
+                terms.add(new Term(last.text, true));
+            }
+        }
+        return terms;
+    }
+
+    private long[] exact(String token) {
+        PostingList list = postings.get(token);
+        return list == null ? NO_IDS : list.ids;
+    }
+
+    private long[] unionOfPrefix(String prefix) {
+        SortedMap<String, PostingList> matches = postings.subMap(prefix, prefix + Character.MAX_VALUE);
+        if (matches.size() == 1) {
+            return matches.values().iterator().next().ids;
+        }
+
+        int total = 0;
+        for (PostingList list : matches.values()) {
+            total += list.size;
+        }
+        long[] union = new long[total];
+        int size = 0;
+        for (PostingList list : matches.values()) {
+            System.arraycopy(list.ids, 0, union, size, list.size);
+            size += list.size;
+        }
+        Arrays.sort(union);
+
+        int unique = 0;
+        for (int i = 0; i < union.length; i++) {
+            if (unique == 0 || union[unique - 1] != union[i]) {
+                union[unique++] = union[i];
+            }
+        }
+        return Arrays.copyOf(union, unique);
+    }
+
+    // Walks the shortest list and probes the others; ids are returned in a fresh array
+    private static long[] intersect(List<long[]> lists) {
+        lists.sort(Comparator.comparingInt(PostingList::length));
+        long[] smallest = lists.get(0);
+        int smallestSize = PostingList.length(smallest);
+
+        long[] result = new long[smallestSize];
+        int size = 0;
+        outer:
+        for (int i = 0; i < smallestSize; i++) {
+            long id = smallest[i];
+            for (int j = 1; j < lists.size(); j++) {
+                long[] other = lists.get(j);
+                if (Arrays.binarySearch(other, 0, PostingList.length(other), id) < 0) {
+                    continue outer;
+                }
+            }
+            result[size++] = id;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private record Term(String text, boolean prefix) {
+    }
+
+    /**
+     * Sorted, growable array of row ids. The backing array may be longer than {@code size};
+     * unused slots hold {@link Long#MAX_VALUE} so the array is sorted as a whole.
+     */
+    private static final class PostingList {
+        private long[] ids = filled(4);
+        private int size;
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int index = Arrays.binarySearch(ids, 0, size, id);
+                if (index >= 0) {
+                    return;
+                }
+                insert(-index - 1, id);
+                return;
+            }
+            ensureCapacity(size + 1);
+            ids[size++] = id;
+        }
+
+        void addAll(PostingList other) {
+            if (size == 0 || ids[size - 1] < other.ids[0]) {
+                ensureCapacity(size + other.size);
+                System.arraycopy(other.ids, 0, ids, size, other.size);
+                size += other.size;
+                return;
+            }
+            for (int i = 0; i < other.size; i++) {
+                add(other.ids[i]);
+            }
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            ids[--size] = Long.MAX_VALUE;
+            return true;
+        }
+
+        private void insert(int index, long id) {
+            ensureCapacity(size + 1);
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > ids.length) {
+                long[] grown = filled(Math.max(capacity, ids.length * 2));
+                System.arraycopy(ids, 0, grown, 0, size);
+                ids = grown;
+            }
+        }
+
+        private static long[] filled(int length) {
+            long[] array = new long[length];
+            Arrays.fill(array, Long.MAX_VALUE);
+            return array;
+        }
+
+        // Number of real ids in a backing array
+        static int length(long[] ids) {
+            int index = Arrays.binarySearch(ids, Long.MAX_VALUE);
+            if (index < 0) {
+                return ids.length;
+            }
+            while (index > 0 && ids[index - 1] == Long.MAX_VALUE) {
+                index--;
+            }
+            return index;
+        }
+    }
+}
@@ -1,19 +1,31 @@
 package com.sap.service;
 
+import com.sap.job.Job;
+import com.sap.job.JobRegistry;
+import com.sap.job.JobStatus;
 import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import com.sap.dto.CreateTableRowRequest;
 import com.sap.entity.TableRow;
 import com.sap.repository.TableRowRepository;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,50 +42,154 @@ public class AsyncTableRowService {
     @Autowired
     private BatchTableRowService batchService;
 
-    @Async("taskExecutor")
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private JobRegistry jobRegistry;
+
+    @Autowired
+    private RowCountService rowCount;
+
+    @Value("${export.jobs.dir:${java.io.tmpdir}/table-row-export-jobs}")
+    private String exportJobsDir;
+
+    @Value("${rows.bulk.chunk-size:1000}")
+    private int bulkChunkSize;
+
+    @Autowired
+    @Qualifier("bulkPool")
+    private Executor bulkPool;
+
+    @Value("${rows.bulk.partition-size:5000}")
+    private int bulkPartitionSize;
+
+    @Async("bulkJobExecutor")
     @Timed(value = "async.bulk.create", description = "Time to create bulk rows")
-    public CompletableFuture<List<TableRow>> createBulk(List<CreateTableRowRequest> requests) {
-        LOG.info("Starting bulk creation of {} rows", requests.size());
+    public void createBulk(List<CreateTableRowRequest> requests, Job job) {
+        LOG.info("Starting bulk creation of {} rows, job: {}", requests.size(), job.getId());
+
+        long[] ids = new long[requests.size()];
+        try {
+            job.start(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                TableRow saved = repository.save(toRow(requests.get(i)));
+                ids[i] = saved.getId();
+                job.addProcessed(1);
+            }
+
+            job.complete(Map.of("ids", ids));
+            LOG.info("Completed bulk creation of {} rows, job: {}", ids.length, job.getId());
+        } catch (Exception e) {
+            LOG.error("Bulk creation {} failed after {} rows", job.getId(), job.getProcessed(), e);
+            job.fail(e);
+        } finally {
+            jobRegistry.update(job);
+        }
+    }
+
+    /**
+     * Inserts the rows in JDBC batches, committing every {@code rows.bulk.chunk-size} rows so
+     * progress is visible while the job runs. A failure leaves the chunks before it committed.
+     */
+    @Async("bulkJobExecutor")
+    @Timed(value = "async.bulk.create", description = "Time to create bulk rows")
+    public void createBulkOptimized(List<CreateTableRowRequest> requests, Job job) {
+        LOG.info("Starting optimized bulk creation of {} rows, job: {}", requests.size(), job.getId());
+
+        long[] ids = new long[requests.size()];
+        try {
+            job.start(requests.size());
+            for (int from = 0; from < requests.size(); from += bulkChunkSize) {
+                List<TableRow> rows = requests.subList(from, Math.min(from + bulkChunkSize, requests.size()))
+                        .stream()
+                        .map(this::toRow)
+                        .collect(Collectors.toList());
+
+                List<TableRow> savedRows = batchService.saveBatch(rows);
+                for (int i = 0; i < savedRows.size(); i++) {
+                    ids[from + i] = savedRows.get(i).getId();
+                }
+                job.addProcessed(savedRows.size());
+            }
+
+            job.complete(Map.of("ids", ids));
+            LOG.info("Completed optimized bulk creation of {} rows, job: {}", ids.length, job.getId());
+        } catch (Exception e) {
+            LOG.error("Optimized bulk creation {} failed after {} rows", job.getId(), job.getProcessed(), e);
+            job.fail(e);
+        } finally {
+            jobRegistry.update(job);
+        }
+    }
 
-        List<TableRow> savedRows = new ArrayList<>();
+    /**
+     * Splits the rows into partitions of {@code rows.bulk.partition-size} and inserts each in its
+     * own transaction on the bulk pool, {@code rows.bulk.parallelism} at a time. A failed
+     * partition does not stop the others; the job result reports every partition, and the ids of
+     * rows in failed partitions are 0.
+     */
+    @Async("bulkJobExecutor")
+    @Timed(value = "async.bulk.create", description = "Time to create bulk rows")
+    public void createBulkParallel(List<CreateTableRowRequest> requests, Job job) {
+        LOG.info("Starting parallel bulk creation of {} rows, job: {}", requests.size(), job.getId());
 
-        for (CreateTableRowRequest request : requests) {
-            TableRow row = TableRow.builder()
-                    .typeNumber(request.getTypeNumber())
-                    .typeSelector(request.getTypeSelector())
-                    .typeFreeText(sanitizationService.sanitize(request.getTypeFreeText()))
-                    .build();
+        long[] ids = new long[requests.size()];
+        List<CompletableFuture<PartitionResult>> partitions = new ArrayList<>();
+        try {
+            job.start(requests.size());
+            for (int from = 0; from < requests.size(); from += bulkPartitionSize) {
+                int partition = partitions.size();
+                int start = from;
+                int end = Math.min(from + bulkPartitionSize, requests.size());
+                partitions.add(CompletableFuture.supplyAsync(
+                        () -> savePartition(requests, partition, start, end, ids, job), bulkPool));
+            }
 
-            TableRow saved = repository.save(row);
-            savedRows.add(saved);
+            List<PartitionResult> results = partitions.stream().map(CompletableFuture::join).toList();
+            long failed = results.stream().filter(result -> result.status() == JobStatus.FAILED).count();
+            Map<String, Object> report = Map.of("ids", ids, "partitions", results);
+            if (failed == 0) {
+                job.complete(report);
+            } else {
+                job.fail(new IllegalStateException(failed + " of " + results.size() + " partitions failed"), report);
+            }
+            LOG.info("Completed parallel bulk creation of {} rows in {} partitions, {} failed, job: {}",
+                    job.getProcessed(), results.size(), failed, job.getId());
+        } catch (Exception e) {
+            LOG.error("Parallel bulk creation {} failed", job.getId(), e);
+            job.fail(e);
+        } finally {
+            jobRegistry.update(job);
         }
+    }
 
-        LOG.info("Completed bulk creation of {} rows", savedRows.size());
-        return CompletableFuture.completedFuture(savedRows);
+    private PartitionResult savePartition(List<CreateTableRowRequest> requests, int partition, int from, int to,
+                                          long[] ids, Job job) {
+        try {
+            List<TableRow> rows = requests.subList(from, to).stream()
+                    .map(this::toRow)
+                    .collect(Collectors.toList());
+
+            List<TableRow> savedRows = batchService.saveBatch(rows);
+            for (int i = 0; i < savedRows.size(); i++) {
+                ids[from + i] = savedRows.get(i).getId();
+            }
+            job.addProcessed(savedRows.size());
+            return new PartitionResult(partition, from, to, JobStatus.COMPLETED, null);
+        } catch (Exception e) {
+            LOG.warn("Partition {} [{}, {}) of bulk job {} failed", partition, from, to, job.getId(), e);
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            return new PartitionResult(partition, from, to, JobStatus.FAILED, error);
+        }
     }
 
-    @Async("taskExecutor")
-    @Transactional
-    // TODO: make in seperate methods/ Async and Transactional
-    public CompletableFuture<List<TableRow>> createBulkOptimized(List<CreateTableRowRequest> requests) {
-        LOG.info("Starting optimized bulk creation of {} rows", requests.size());
-
-        List<TableRow> rows = requests.stream()
-                .map(request -> {
-                    TableRow row = TableRow.builder()
-                            .typeNumber(request.getTypeNumber())
-                            .typeSelector(request.getTypeSelector())
-                            .typeFreeText(sanitizationService.sanitize(request.getTypeFreeText()))
-                            .build();
-                    return row;
-                })
-                .collect(Collectors.toList());
-
-        List<TableRow> savedRows = batchService.saveBatch(rows);
-        //TODO:  if save in other DBs tables etc.
-
-        LOG.info("Completed optimized bulk creation of {} rows", savedRows.size());
-        return CompletableFuture.completedFuture(savedRows);
+    private TableRow toRow(CreateTableRowRequest request) {
+        return TableRow.builder()
+                .typeNumber(request.getTypeNumber())
+                .typeSelector(request.getTypeSelector())
+                .typeFreeText(sanitizationService.sanitize(request.getTypeFreeText()))
+                .build();
     }
 
     @Async("taskExecutor")
@@ -96,8 +212,47 @@ public class AsyncTableRowService {
         LOG.info("Generating monthly report for user: {}", userId);
     }
 
-    @Async("taskExecutor")
-    public void exportToExcel(Long userId) {
-        LOG.info("Exporting data to Excel for user: {}", userId);
+    @Async("exportJobExecutor")
+    public void exportToExcel(Long userId, Job job) {
+        LOG.info("Exporting data to Excel for user: {}, job: {}", userId, job.getId());
+
+        Path file = null;
+        try {
+            job.start(rowCount.getCount());
+
+            Path directory = Files.createDirectories(Paths.get(exportJobsDir));
+            file = Files.createTempFile(directory, "excel-" + job.getId() + "-", ".xlsx");
+            Path result = file;
+            job.onCleanup(() -> deleteQuietly(result));
+
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+                exportService.writeSpreadsheet(out, job::setProcessed);
+            }
+
+            job.complete(file);
+            LOG.info("Excel export {} completed: {} rows", job.getId(), job.getProcessed());
+        } catch (Exception e) {
+            LOG.error("Excel export {} failed for user: {}", job.getId(), userId, e);
+            if (file != null) {
+                deleteQuietly(file);
+            }
+            job.fail(e);
+        } finally {
+            jobRegistry.update(job);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("Could not delete export file {}", file, e);
+        }
+    }
+
+    /**
+     * Outcome of one partition of a parallel bulk job: rows {@code [from, to)} of the request.
+     */
+    public record PartitionResult(int partition, int from, int to, JobStatus status, String error) {
     }
 }
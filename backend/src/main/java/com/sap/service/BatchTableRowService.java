@@ -2,6 +2,7 @@ package com.sap.service;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.sap.entity.TableRow;
@@ -14,12 +15,15 @@ public class BatchTableRowService {
     @PersistenceContext
     private EntityManager entityManager;
 
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
     @Transactional
     public List<TableRow> saveBatch(List<TableRow> rows) {
-        int batchSize = 50;
         for (int i = 0; i < rows.size(); i++) {
             entityManager.persist(rows.get(i));
-            if (i % batchSize == 0 && i > 0) {
+            // Flush once per JDBC batch so each flush sends exactly one full batch
+            if ((i + 1) % batchSize == 0) {
                 entityManager.flush();
                 entityManager.clear();
             }
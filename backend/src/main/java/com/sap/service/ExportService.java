@@ -1,68 +1,461 @@
 package com.sap.service;
 
+import com.sap.dto.RowFilter;
 import com.sap.entity.TableRow;
+import com.sap.export.CountingOutputStream;
+import com.sap.export.ExportCache;
+import com.sap.export.ExportEncoding;
 import com.sap.export.ExportStrategy;
 import com.sap.export.ExportStrategyFactory;
+import com.sap.export.RowEncoder;
+import com.sap.export.XlsxWriter;
+import com.sap.repository.TableRowJdbcReader;
 import com.sap.repository.TableRowRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 public class ExportService {
 
     private static final Logger LOG = LoggerFactory.getLogger(ExportService.class);
 
+    private static final String[] SPREADSHEET_HEADERS =
+            {"ID", "Type Number", "Type Selector", "Type Free Text", "Created At"};
+    private static final int SPREADSHEET_WINDOW = 1000;
+
     @Autowired
     private TableRowRepository repository;
 
+    @Autowired
+    private TableRowJdbcReader jdbcReader;
+
     @Autowired
     private ExportStrategyFactory strategyFactory;
 
-    public ExportResult export(String format) {
-        LOG.info("Starting export in {} format", format);
+    @Autowired
+    private ExportCache exportCache;
+
+    @Autowired
+    private TableVersionService tableVersion;
 
-        List<TableRow> data = fetchData();
+    @Autowired
+    private PendingInsertTracker pendingInserts;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("exportPool")
+    private ForkJoinPool exportPool;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${export.parallel.chunk-size:5000}")
+    private long chunkSize;
+
+    @Value("${export.jdbc.enabled:true}")
+    private boolean jdbcEnabled;
+
+    /**
+     * Resolves the strategy and response metadata up front so an unsupported format is
+     * rejected before any bytes are streamed, and checks the export cache for a file of the
+     * current table version. The rows are written later by {@link #writeTo} or, on a cache
+     * hit, {@link #transferCached}.
+     */
+    public ExportResult export(String format, ExportEncoding encoding) {
+        LOG.info("Starting export in {} format, encoding: {}", format, encoding.getToken());
 
         ExportStrategy strategy = strategyFactory.getStrategy(format);
 
-        byte[] exportedData = strategy.export(data);
+        long version = tableVersion.getVersion();
+        String cacheKey = cacheKeyPrefix(format, encoding) + tableVersion.tag(version);
+
+        return new ExportResult(
+                format,
+                strategy,
+                encoding,
+                strategy.getContentType(),
+                generateFileName(format, strategy.getFileExtension()),
+                version,
+                cacheKey,
+                exportCache.lookup(cacheKey)
+        );
+    }
+
+    /**
+     * Delta export: only rows newer than the given cursor, up to the newest committed row at
+     * request time, which becomes the next cursor. Ids and {@code createdAt} are assigned before
+     * commit, so the bound is held back below the lowest value an insert still in flight can
+     * commit with; such rows come with a later delta instead of being skipped. This covers
+     * inserts made by this process only. Exactly one of {@code sinceId} (exact, preferred) and
+     * {@code sinceCreatedAt} must be set. Deltas are never cached.
+     */
+    public ExportResult exportSince(String format, ExportEncoding encoding, Long sinceId, LocalDateTime sinceCreatedAt) {
+        if ((sinceId == null) == (sinceCreatedAt == null)) {
+            throw new IllegalArgumentException("Exactly one of sinceId or sinceCreatedAt is required");
+        }
+        LOG.info("Starting delta export in {} format since id {} / createdAt {}", format, sinceId, sinceCreatedAt);
+
+        ExportStrategy strategy = strategyFactory.getStrategy(format);
 
         ExportResult result = new ExportResult(
-                exportedData,
+                format,
+                strategy,
+                encoding,
                 strategy.getContentType(),
-                generateFileName(format, strategy.getFileExtension())
+                generateFileName(format, strategy.getFileExtension()),
+                tableVersion.getVersion(),
+                null,
+                null
         );
 
-        LOG.info("Export completed: {} bytes, format: {}", exportedData.length, format);
+        // Committed maxima first: a transaction starting after them cannot commit anything below
+        if (sinceId != null) {
+            Long maxId = repository.findMaxId();
+            long untilId = maxId == null ? sinceId : Math.max(sinceId, pendingInserts.safeMaxId(maxId));
+            result.rows = idRange(sinceId + 1, untilId);
+            result.nextCursorName = "sinceId";
+            result.nextCursor = String.valueOf(untilId);
+        } else {
+            LocalDateTime maxCreatedAt = repository.findMaxCreatedAt();
+            LocalDateTime safeMax = maxCreatedAt == null ? null : pendingInserts.safeMaxCreatedAt(maxCreatedAt);
+            LocalDateTime until = safeMax == null || safeMax.isBefore(sinceCreatedAt)
+                    ? sinceCreatedAt : safeMax;
+            result.rows = rowSource(
+                    () -> repository.streamByCreatedAtRange(sinceCreatedAt, until),
+                    encoder -> jdbcReader.readByCreatedAtRange(sinceCreatedAt, until, encoder));
+            result.nextCursorName = "sinceCreatedAt";
+            result.nextCursor = until.toString();
+        }
 
         return result;
     }
 
-    protected List<TableRow> fetchData() {
-        return repository.findAll();
+    public long transferCached(ExportResult result, OutputStream out) throws IOException {
+        long size = exportCache.transferTo(result.getCachedExport(), out);
+        result.recordSizes(-1, size);
+        LOG.info("Export served from cache: {} bytes as {}, file: {}",
+                size, result.getEncoding().getToken(), result.getFileName());
+        return size;
+    }
+
+    @Transactional(readOnly = true)
+    public long writeTo(ExportResult result, OutputStream out) throws IOException {
+        ExportStrategy strategy = result.getStrategy();
+        RowSource rows = result.rows != null ? result.rows : allRows();
+
+        return encode(result, out, body -> {
+            strategy.writeHeader(body);
+            rows.writeRows(strategy, body);
+            strategy.writeFooter(body);
+        });
+    }
+
+    /**
+     * Writes the rows matching {@code filter} with {@code id > afterId} as NDJSON, straight from
+     * a JDBC cursor. Nothing is buffered beyond the fetch size and the encoder's block, and the
+     * cursor only advances as fast as {@code out} accepts bytes, so any number of rows streams
+     * in constant memory.
+     */
+    @Transactional(readOnly = true)
+    public long streamRows(RowFilter filter, long afterId, long limit, OutputStream out) throws IOException {
+        RowEncoder encoder = strategyFactory.getStrategy("ndjson").openRows(out);
+        long count = jdbcReader.readMatching(filter, afterId, limit, encoder);
+        encoder.finish();
+        LOG.info("Streamed {} rows after id {}", count, afterId);
+        return count;
+    }
+
+    /**
+     * Writes the whole table as an XLSX workbook, reporting the number of rows written after
+     * every window of {@value #SPREADSHEET_WINDOW} rows.
+     */
+    @Transactional(readOnly = true)
+    public long writeSpreadsheet(OutputStream out, LongConsumer progress) throws IOException {
+        XlsxWriter xlsx = new XlsxWriter(out, "Rows", SPREADSHEET_HEADERS, SPREADSHEET_WINDOW);
+        long[] count = {0};
+
+        RowEncoder sheet = (id, typeNumber, typeSelector, typeFreeText, createdAt) -> {
+            xlsx.startRow()
+                    .numberCell(id)
+                    .numberCell(typeNumber)
+                    .stringCell(typeSelector)
+                    .stringCell(typeFreeText)
+                    .dateCell(createdAt)
+                    .endRow();
+            if (++count[0] % SPREADSHEET_WINDOW == 0) {
+                progress.accept(count[0]);
+            }
+        };
+        if (jdbcEnabled) {
+            jdbcReader.readAll(sheet);
+        } else {
+            try (Stream<TableRow> data = fetchData()) {
+                sheet.encode(data);
+            }
+        }
+
+        xlsx.finish();
+        progress.accept(count[0]);
+        return count[0];
+    }
+
+    /**
+     * Splits the table into id ranges of {@code export.parallel.chunk-size}, encodes the ranges
+     * on the export pool (each with its own read-only transaction and cursor) and writes the
+     * encoded chunks in id order. At most two chunks per pool thread are buffered at any time.
+     */
+    public long writeParallelTo(ExportResult result, OutputStream out) throws IOException {
+        ExportStrategy strategy = result.getStrategy();
+
+        TransactionTemplate readOnly = readOnlyTransaction();
+        Long minId = readOnly.execute(status -> repository.findMinId());
+        Long maxId = readOnly.execute(status -> repository.findMaxId());
+
+        return encode(result, out, body -> {
+            strategy.writeHeader(body);
+            if (minId != null && maxId != null) {
+                writeChunks(strategy, minId, maxId, body);
+            }
+            strategy.writeFooter(body);
+        });
+    }
+
+    private void writeChunks(ExportStrategy strategy, long minId, long maxId, OutputStream out) throws IOException {
+        int window = exportPool.getParallelism() * 2;
+        Deque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<>(window);
+        long nextFromId = minId;
+        boolean wroteRows = false;
+        boolean completed = false;
+
+        try {
+            while (nextFromId <= maxId || !inFlight.isEmpty()) {
+                while (inFlight.size() < window && nextFromId <= maxId) {
+                    long fromId = nextFromId;
+                    long toId = Math.min(maxId, fromId + chunkSize - 1);
+                    inFlight.add(CompletableFuture.supplyAsync(
+                            () -> encodeChunk(strategy, fromId, toId), exportPool));
+                    nextFromId = toId + 1;
+                }
+
+                byte[] chunk = inFlight.poll().join();
+                if (chunk.length > 0) {
+                    if (wroteRows) {
+                        out.write(strategy.getRowSeparator());
+                    }
+                    out.write(chunk);
+                    wroteRows = true;
+                }
+            }
+            completed = true;
+        } catch (CompletionException e) {
+            throw new IOException("Parallel export failed", e.getCause());
+        } finally {
+            if (!completed) {
+                inFlight.forEach(future -> future.cancel(true));
+            }
+        }
+    }
+
+    private long encode(ExportResult result, OutputStream out, BodyWriter writer) throws IOException {
+        ExportCache.PendingExport pending = exportCache.isEnabled() && result.getCacheKey() != null
+                ? exportCache.begin(result.getCacheKey()) : null;
+
+        CountingOutputStream encoded = new CountingOutputStream(pending == null ? out : pending.tee(out));
+        OutputStream encoder = result.getEncoding().encode(encoded);
+        CountingOutputStream raw = new CountingOutputStream(encoder);
+
+        try {
+            writer.write(raw);
+            ExportEncoding.finish(encoder);
+            encoded.flush();
+        } catch (IOException | RuntimeException e) {
+            ExportEncoding.abort(encoder);
+            if (pending != null) {
+                pending.abort();
+            }
+            throw e;
+        }
+
+        if (pending != null) {
+            // Rows committed while we were reading may or may not be in the file
+            if (tableVersion.getVersion() == result.getVersion()) {
+                pending.commit(cacheKeyPrefix(result.getFormat(), result.getEncoding()));
+            } else {
+                pending.abort();
+            }
+        }
+
+        result.recordSizes(raw.getCount(), encoded.getCount());
+        LOG.info("Export completed: {} bytes, {} bytes as {}, file: {}",
+                raw.getCount(), encoded.getCount(), result.getEncoding().getToken(), result.getFileName());
+
+        return encoded.getCount();
+    }
+
+    private byte[] encodeChunk(ExportStrategy strategy, long fromId, long toId) {
+        return readOnlyTransaction().execute(status -> {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try {
+                idRange(fromId, toId).writeRows(strategy, buffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return buffer.toByteArray();
+        });
+    }
+
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    protected Stream<TableRow> fetchData() {
+        // Rows are detached as soon as they are read so the persistence context stays empty
+        return repository.streamAll().peek(entityManager::detach);
+    }
+
+    private RowSource allRows() {
+        return rowSource(repository::streamAll, jdbcReader::readAll);
+    }
+
+    private RowSource idRange(long fromId, long toId) {
+        return rowSource(
+                () -> repository.streamByIdRange(fromId, toId),
+                encoder -> jdbcReader.readByIdRange(fromId, toId, encoder));
+    }
+
+    /**
+     * Reads rows over plain JDBC straight into the strategy's encoder or, with
+     * {@code export.jdbc.enabled=false}, as detached entities. Both must run inside a
+     * read-only transaction.
+     */
+    private RowSource rowSource(Supplier<Stream<TableRow>> entities, JdbcRead jdbc) {
+        if (jdbcEnabled) {
+            return (strategy, out) -> {
+                RowEncoder encoder = strategy.openRows(out);
+                jdbc.read(encoder);
+                encoder.finish();
+            };
+        }
+        return (strategy, out) -> {
+            try (Stream<TableRow> rows = entities.get().peek(entityManager::detach)) {
+                strategy.writeRows(rows, out);
+            }
+        };
+    }
+
+    private String cacheKeyPrefix(String format, ExportEncoding encoding) {
+        return format.toLowerCase(Locale.ROOT) + "." + encoding.getToken() + ".";
     }
 
     protected String generateFileName(String format, String extension) {
         return "export_" + System.currentTimeMillis() + "." + extension;
     }
 
+    @FunctionalInterface
+    private interface BodyWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        void writeRows(ExportStrategy strategy, OutputStream out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface JdbcRead {
+        void read(RowEncoder encoder) throws IOException;
+    }
+
     public static class ExportResult {
-        private final byte[] data;
+        private final String format;
+        private final ExportStrategy strategy;
+        private final ExportEncoding encoding;
         private final String contentType;
         private final String fileName;
+        private final long version;
+        private final String cacheKey;
+        private final ExportCache.CachedExport cachedExport;
+        private RowSource rows;
+        private String nextCursorName;
+        private String nextCursor;
+        private volatile long size = -1;
+        private volatile long encodedSize = -1;
 
-        public ExportResult(byte[] data, String contentType, String fileName) {
-            this.data = data;
+        public ExportResult(String format, ExportStrategy strategy, ExportEncoding encoding, String contentType,
+                            String fileName, long version, String cacheKey, ExportCache.CachedExport cachedExport) {
+            this.format = format;
+            this.strategy = strategy;
+            this.encoding = encoding;
             this.contentType = contentType;
             this.fileName = fileName;
+            this.version = version;
+            this.cacheKey = cacheKey;
+            this.cachedExport = cachedExport;
         }
 
-        public byte[] getData() { return data; }
+        void recordSizes(long size, long encodedSize) {
+            this.size = size;
+            this.encodedSize = encodedSize;
+        }
+
+        public String getFormat() { return format; }
+        public ExportStrategy getStrategy() { return strategy; }
+        public ExportEncoding getEncoding() { return encoding; }
         public String getContentType() { return contentType; }
         public String getFileName() { return fileName; }
+
+        /** Table version the export reflects. */
+        public long getVersion() { return version; }
+        public String getCacheKey() { return cacheKey; }
+
+        /** The cached file to serve, or {@code null} if the export has to be generated. */
+        public ExportCache.CachedExport getCachedExport() { return cachedExport; }
+
+        public boolean isDelta() { return nextCursorName != null; }
+
+        /** Name of the request parameter to pass {@link #getNextCursor()} back in, for deltas. */
+        public String getNextCursorName() { return nextCursorName; }
+        public String getNextCursor() { return nextCursor; }
+
+        /**
+         * {@code Content-Encoding} header value, or {@code null} when the output is not encoded.
+         */
+        public String getContentEncoding() {
+            return encoding == ExportEncoding.IDENTITY ? null : encoding.getToken();
+        }
+
+        /** Unencoded document size, or -1 until the export has been written. */
+        public long getSize() { return size; }
+
+        /** Bytes actually sent, or -1 until the export has been written. */
+        public long getEncodedSize() { return encodedSize; }
     }
-}
\ No newline at end of file
+}
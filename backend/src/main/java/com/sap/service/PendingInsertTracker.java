@@ -0,0 +1,85 @@
+package com.sap.service;
+
+import com.sap.entity.TableRow;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks transactions of this process that have inserted rows but not finished yet. Ids and
+ * creation times are assigned before commit, so a row can become visible after rows with a
+ * higher id or later {@code createdAt}; a delta cursor must not move past the lowest value such
+ * a transaction can still commit with. Ids are handed out in increasing order within the
+ * process, which makes the highest id seen before a transaction's first insert a safe bound.
+ */
+@Component
+public class PendingInsertTracker {
+
+    private final AtomicLong highestId = new AtomicLong();
+
+    private final Set<Pending> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Called before a row gets its id and creation time; registers the current transaction on
+     * its first insert and releases it once the transaction completes.
+     */
+    public void beforeInsert() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        Pending transaction = new Pending(highestId.get(), LocalDateTime.now());
+        pending.add(transaction);
+        TransactionSynchronizationManager.bindResource(this, transaction);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                pending.remove(transaction);
+                TransactionSynchronizationManager.unbindResourceIfPossible(PendingInsertTracker.this);
+            }
+        });
+    }
+
+    public void afterInsert(TableRow row) {
+        highestId.accumulateAndGet(row.getId(), Math::max);
+    }
+
+    /**
+     * Highest id up to which every row that will ever exist has committed: {@code committedMaxId}
+     * held back below the ids uncommitted inserts can still get. Read {@code committedMaxId}
+     * before calling this.
+     */
+    public long safeMaxId(long committedMaxId) {
+        long bound = committedMaxId;
+        for (Pending transaction : pending) {
+            bound = Math.min(bound, transaction.afterId);
+        }
+        return bound;
+    }
+
+    /**
+     * Like {@link #safeMaxId} for {@code createdAt}. The bound is one microsecond below the
+     * earliest in-flight start, as {@code created_at} keeps microseconds; it relies on the clock
+     * not stepping back.
+     */
+    public LocalDateTime safeMaxCreatedAt(LocalDateTime committedMaxCreatedAt) {
+        LocalDateTime bound = committedMaxCreatedAt;
+        for (Pending transaction : pending) {
+            LocalDateTime before = transaction.startedAt.truncatedTo(ChronoUnit.MICROS).minus(1, ChronoUnit.MICROS);
+            if (before.isBefore(bound)) {
+                bound = before;
+            }
+        }
+        return bound;
+    }
+
+    // Rows inserted by the transaction have ids above afterId and createdAt from startedAt on
+    private record Pending(long afterId, LocalDateTime startedAt) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.sap.service;
+
+import com.sap.event.TableRowChangedEvent;
+import com.sap.repository.TableRowRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Number of rows in {@code table_row}, counted once at startup and then kept current from
+ * committed inserts and deletes, so callers never run {@code COUNT(*)}. Changes of rolled back
+ * transactions are never applied. Changes committed while the startup count runs are collected
+ * separately and added to its result.
+ */
+@Service
+public class RowCountService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RowCountService.class);
+
+    private volatile LongAdder count = new LongAdder();
+
+    // Changes seen while seed() counts, guarded by this; null when no count runs
+    private LongAdder seeding;
+
+    @Autowired
+    private TableRowRepository repository;
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void seed() {
+        synchronized (this) {
+            seeding = new LongAdder();
+        }
+        long counted;
+        try {
+            counted = repository.count();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                seeding = null;
+            }
+            throw e;
+        }
+
+        LongAdder seeded = new LongAdder();
+        synchronized (this) {
+            seeded.add(counted + seeding.sum());
+            seeding = null;
+            count = seeded;
+        }
+        LOG.info("Row count seeded: {}", seeded.sum());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTableRowChanged(TableRowChangedEvent event) {
+        int delta = event.getType() == TableRowChangedEvent.Type.CREATED ? 1 : -1;
+        count.add(delta);
+        if (seeding != null) {
+            seeding.add(delta);
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+}
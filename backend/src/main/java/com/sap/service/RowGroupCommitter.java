@@ -0,0 +1,173 @@
+package com.sap.service;
+
+import com.sap.entity.TableRow;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group commit for single-row inserts: rows saved by concurrent callers are collected by one
+ * writer thread for up to {@code rows.group-commit.window}, or until
+ * {@code rows.group-commit.max-batch-size} are waiting, and inserted in one batched transaction.
+ * While a batch is being written the next one fills up, so batches grow with the number of
+ * concurrent writers. If a batch fails, its rows are retried one by one so a bad row only fails
+ * its own caller. Callers wait at most {@code rows.group-commit.timeout}, and a writer that dies
+ * fails its batch and is replaced, so no caller waits forever.
+ */
+@Component
+public class RowGroupCommitter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RowGroupCommitter.class);
+
+    private final BatchTableRowService batchService;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final long timeoutNanos;
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+
+    // Guarded by this
+    private Thread writer;
+    private boolean stopped;
+
+    public RowGroupCommitter(BatchTableRowService batchService,
+                             @Value("${rows.group-commit.window:2ms}") Duration window,
+                             @Value("${rows.group-commit.max-batch-size:50}") int maxBatchSize,
+                             @Value("${rows.group-commit.timeout:30s}") Duration timeout) {
+        this.batchService = batchService;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    /**
+     * Inserts {@code row} with the next group and returns it once that group has committed.
+     *
+     * @throws IllegalStateException when the group did not commit within the timeout; if the
+     *                               row had already been picked up it may still be saved
+     */
+    public TableRow save(TableRow row) {
+        Pending pending = new Pending(row, new CompletableFuture<>());
+        synchronized (this) {
+            if (stopped) {
+                throw new IllegalStateException("Group commit writer is shut down");
+            }
+            if (writer == null) {
+                startWriter();
+            }
+            queue.add(pending);
+        }
+        try {
+            return pending.result().get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Group commit failed", e.getCause());
+        } catch (TimeoutException e) {
+            // Still queued means it will never be written
+            boolean unsent = queue.remove(pending);
+            throw new IllegalStateException("Group commit did not finish within "
+                    + Duration.ofNanos(timeoutNanos) + (unsent ? "" : "; the row may still be saved"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queue.remove(pending);
+            throw new IllegalStateException("Interrupted while waiting for group commit", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread thread;
+        synchronized (this) {
+            stopped = true;
+            thread = writer;
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    // Guarded by this
+    private void startWriter() {
+        writer = new Thread(this::run, "group-commit");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+                try {
+                    write(batch);
+                } catch (Throwable e) {
+                    LOG.error("Group commit of {} rows failed", batch.size(), e);
+                    batch.forEach(pending -> pending.result().completeExceptionally(e));
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            IllegalStateException shutDown = new IllegalStateException("Group commit writer is shut down");
+            batch.forEach(pending -> pending.result().completeExceptionally(shutDown));
+            queue.forEach(pending -> pending.result().completeExceptionally(shutDown));
+        } catch (Throwable e) {
+            LOG.error("Group commit writer failed, starting a new one", e);
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+            synchronized (this) {
+                writer = null;
+                if (!stopped && !queue.isEmpty()) {
+                    startWriter();
+                }
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        List<TableRow> rows = batch.stream().map(Pending::row).toList();
+        try {
+            batchService.saveBatch(rows);
+            batch.forEach(pending -> pending.result().complete(pending.row()));
+            LOG.debug("Group commit of {} rows", rows.size());
+        } catch (RuntimeException e) {
+            LOG.warn("Group commit of {} rows failed, saving them one by one", rows.size(), e);
+            for (Pending pending : batch) {
+                try {
+                    // The failed attempt may have assigned an id
+                    pending.row().setId(null);
+                    batchService.saveBatch(List.of(pending.row()));
+                    pending.result().complete(pending.row());
+                } catch (RuntimeException rowFailure) {
+                    pending.result().completeExceptionally(rowFailure);
+                }
+            }
+        }
+    }
+
+    private record Pending(TableRow row, CompletableFuture<TableRow> result) {
+    }
+}
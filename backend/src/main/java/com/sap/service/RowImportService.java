@@ -0,0 +1,129 @@
+package com.sap.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sap.dto.CreateTableRowRequest;
+import com.sap.entity.TableRow;
+import com.sap.ingest.CsvRowSource;
+import com.sap.ingest.NdjsonRowSource;
+import com.sap.ingest.RowSource;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports rows from an NDJSON or CSV body while it is being read. Rows are validated and
+ * sanitized one at a time and inserted every {@code rows.import.chunk-size} rows, so memory is
+ * bounded by the chunk rather than the body. Invalid rows are skipped and reported; malformed
+ * input stops the import, leaving the chunks before it committed.
+ */
+@Service
+public class RowImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RowImportService.class);
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    // Rejected rows beyond this are only counted
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private SanitizationService sanitizationService;
+
+    @Autowired
+    private BatchTableRowService batchService;
+
+    @Value("${rows.import.chunk-size:1000}")
+    private int chunkSize;
+
+    public Result importRows(InputStream in, MediaType contentType) throws IOException {
+        RowSource source;
+        try {
+            source = contentType.isCompatibleWith(TEXT_CSV)
+                    ? new CsvRowSource(in, contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8)
+                    : new NdjsonRowSource(objectMapper, in);
+        } catch (IllegalArgumentException e) {
+            return new Result(0, 0, List.of(), e.getMessage());
+        }
+
+        List<TableRow> chunk = new ArrayList<>(chunkSize);
+        List<RowError> errors = new ArrayList<>();
+        long imported = 0;
+        long rejected = 0;
+        String failure = null;
+        try {
+            CreateTableRowRequest request;
+            while ((request = source.next()) != null) {
+                String violations = validate(request);
+                if (violations != null) {
+                    rejected++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(new RowError(source.getLine(), violations));
+                    }
+                    continue;
+                }
+
+                chunk.add(TableRow.builder()
+                        .typeNumber(request.getTypeNumber())
+                        .typeSelector(request.getTypeSelector())
+                        .typeFreeText(sanitizationService.sanitize(request.getTypeFreeText()))
+                        .build());
+                if (chunk.size() == chunkSize) {
+                    batchService.saveBatch(chunk);
+                    imported += chunk.size();
+                    chunk.clear();
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            failure = e.getMessage();
+        }
+
+        // Rows parsed before malformed input are still imported
+        if (!chunk.isEmpty()) {
+            batchService.saveBatch(chunk);
+            imported += chunk.size();
+        }
+
+        LOG.info("Imported {} rows, rejected {}{}", imported, rejected, failure != null ? ", stopped: " + failure : "");
+        return new Result(imported, rejected, errors, failure);
+    }
+
+    // null when valid
+    private String validate(CreateTableRowRequest request) {
+        Set<ConstraintViolation<CreateTableRowRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Outcome of an import; {@code failure} is set when malformed input stopped it.
+     */
+    public record Result(long imported, long rejected, List<RowError> errors, String failure) {
+    }
+
+    public record RowError(long line, String error) {
+    }
+}
@@ -0,0 +1,253 @@
+package com.sap.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sap.dto.RowCursor;
+import com.sap.entity.TableRow;
+import com.sap.event.TableRowChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of {@code GET /rows} page contents. Every page remembers the key range it covers, and a
+ * committed insert or delete only drops the pages whose contents it can change: offset pages at
+ * or after the changed row, keyset pages whose range contains it, and the open tail page that
+ * appended rows would extend. Totals are not cached; they come from {@link RowCountService}.
+ */
+@Component
+public class RowPageCache {
+
+    private static final Comparator<LocalDateTime> CREATED_AT_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final Cache<PageKey, CachedPage> pages;
+
+    // Bumped before every invalidation so a page loaded across a commit is never kept
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    public RowPageCache(@Value("${rows.page-cache.max-entries:1000}") long maxEntries,
+                        @Value("${rows.page-cache.expire-after-access:10m}") Duration expireAfterAccess,
+                        MeterRegistry registry) {
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+
+        this.hits = Counter.builder("rows.page.cache.requests")
+                .description("Row page cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+        this.misses = Counter.builder("rows.page.cache.requests")
+                .description("Row page cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+        this.invalidations = Counter.builder("rows.page.cache.invalidations")
+                .description("Cached row pages dropped because a committed write changed them")
+                .register(registry);
+        Gauge.builder("rows.page.cache.hit.ratio", this, RowPageCache::getHitRatio)
+                .description("Share of row page lookups served from the cache")
+                .register(registry);
+        Gauge.builder("rows.page.cache.size", pages, Cache::estimatedSize)
+                .description("Row pages held in the cache")
+                .register(registry);
+    }
+
+    /**
+     * Offset page {@code page} of {@code size} rows in id order.
+     */
+    public List<TableRow> getOffsetPage(int page, int size, Supplier<List<TableRow>> loader) {
+        PageKey key = new PageKey(null, null, page, size);
+        CachedPage cached = lookup(key);
+        if (cached != null) {
+            return cached.offsetRows;
+        }
+
+        long loadedAt = generation.get();
+        List<TableRow> rows = loader.get();
+        TableRow last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        store(key, loadedAt, new CachedPage(rows, null, RowCursor.Sort.ID, null,
+                last == null ? null : RowCursor.after(RowCursor.Sort.ID, last), rows.size() < size));
+        return rows;
+    }
+
+    /**
+     * The cached offset page, or {@code null} if it would have to be loaded. Never loads.
+     */
+    public List<TableRow> peekOffsetPage(int page, int size) {
+        CachedPage cached = pages.getIfPresent(new PageKey(null, null, page, size));
+        return cached == null ? null : cached.offsetRows;
+    }
+
+    /**
+     * Keyset page of {@code size} rows after {@code after} ({@code null} for the first page).
+     */
+    public Slice<TableRow> getKeysetPage(RowCursor.Sort sort, RowCursor after, int size,
+                                         Supplier<Slice<TableRow>> loader) {
+        PageKey key = new PageKey(sort, after == null ? "" : after.encode(), 0, size);
+        CachedPage cached = lookup(key);
+        if (cached != null) {
+            return cached.slice;
+        }
+
+        long loadedAt = generation.get();
+        Slice<TableRow> slice = loader.get();
+        List<TableRow> rows = slice.getContent();
+        RowCursor upper = rows.isEmpty() ? null : RowCursor.after(sort, rows.get(rows.size() - 1));
+        // Without a next page, an appended row would show up here or flip hasMore
+        store(key, loadedAt, new CachedPage(null, slice, sort, after, upper, !slice.hasNext()));
+        return slice;
+    }
+
+    /**
+     * Collects the rows a transaction changes into one range and invalidates once, after it
+     * commits, so a bulk insert costs one pass over the cache instead of one per row. Outside a
+     * transaction the change is applied at once.
+     */
+    @EventListener
+    public void onTableRowChanged(TableRowChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            invalidate(new ChangedRange(event.getRow()));
+            return;
+        }
+
+        ChangedRange range = (ChangedRange) TransactionSynchronizationManager.getResource(this);
+        if (range != null) {
+            range.add(event.getRow());
+            return;
+        }
+        ChangedRange changed = new ChangedRange(event.getRow());
+        TransactionSynchronizationManager.bindResource(this, changed);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(changed);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(RowPageCache.this);
+            }
+        });
+    }
+
+    public double getHitRatio() {
+        double lookups = hits.count() + misses.count();
+        return lookups == 0 ? 0 : hits.count() / lookups;
+    }
+
+    private void invalidate(ChangedRange range) {
+        generation.incrementAndGet();
+
+        pages.asMap().values().removeIf(page -> {
+            boolean affected = page.isAffectedBy(range);
+            if (affected) {
+                invalidations.increment();
+            }
+            return affected;
+        });
+    }
+
+    private CachedPage lookup(PageKey key) {
+        CachedPage cached = pages.getIfPresent(key);
+        (cached != null ? hits : misses).increment();
+        return cached;
+    }
+
+    private void store(PageKey key, long loadedAt, CachedPage page) {
+        pages.put(key, page);
+        // A write committed while loading may have been missed by its invalidation pass
+        if (generation.get() != loadedAt) {
+            pages.invalidate(key);
+        }
+    }
+
+    private record PageKey(RowCursor.Sort sort, String after, int page, int size) {
+    }
+
+    private static final class CachedPage {
+        private final List<TableRow> offsetRows;
+        private final Slice<TableRow> slice;
+        private final RowCursor.Sort sort;
+        private final RowCursor lower;
+        private final RowCursor upper;
+        private final boolean open;
+
+        CachedPage(List<TableRow> offsetRows, Slice<TableRow> slice, RowCursor.Sort sort,
+                   RowCursor lower, RowCursor upper, boolean open) {
+            this.offsetRows = offsetRows;
+            this.slice = slice;
+            this.sort = sort;
+            this.lower = lower;
+            this.upper = upper;
+            this.open = open;
+        }
+
+        /**
+         * Offset pages have no lower bound: any change before their last row shifts them. The
+         * range is treated as if every key in it changed.
+         */
+        boolean isAffectedBy(ChangedRange range) {
+            if (lower != null && compare(range.lastCreatedAt, range.lastId, lower) <= 0) {
+                return false;
+            }
+            return open || upper == null || compare(range.firstCreatedAt, range.firstId, upper) <= 0;
+        }
+
+        private int compare(LocalDateTime createdAt, long id, RowCursor bound) {
+            if (sort == RowCursor.Sort.CREATED_AT) {
+                int byCreatedAt = CREATED_AT_ORDER.compare(createdAt, bound.getCreatedAt());
+                if (byCreatedAt != 0) {
+                    return byCreatedAt;
+                }
+            }
+            return Long.compare(id, bound.getId());
+        }
+    }
+
+    /**
+     * Smallest and largest id and createdAt of the rows a transaction changed. In
+     * (createdAt, id) order every one of them lies between the first and the last corner.
+     */
+    private static final class ChangedRange {
+        private long firstId;
+        private long lastId;
+        private LocalDateTime firstCreatedAt;
+        private LocalDateTime lastCreatedAt;
+
+        ChangedRange(TableRow row) {
+            firstId = lastId = Objects.requireNonNullElse(row.getId(), 0L);
+            firstCreatedAt = lastCreatedAt = row.getCreatedAt();
+        }
+
+        void add(TableRow row) {
+            long id = Objects.requireNonNullElse(row.getId(), 0L);
+            firstId = Math.min(firstId, id);
+            lastId = Math.max(lastId, id);
+            if (CREATED_AT_ORDER.compare(row.getCreatedAt(), firstCreatedAt) < 0) {
+                firstCreatedAt = row.getCreatedAt();
+            }
+            if (CREATED_AT_ORDER.compare(row.getCreatedAt(), lastCreatedAt) > 0) {
+                lastCreatedAt = row.getCreatedAt();
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.sap.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sap.dto.RowCursor;
+import com.sap.dto.RowFilter;
+import com.sap.entity.TableRow;
+import com.sap.event.TableRowChangedEvent;
+import com.sap.repository.TableRowRepository;
+import com.sap.repository.TableRowSpecifications;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filtered, keyset-paginated row queries. Results are cached per filter, sort, cursor and size,
+ * and a committed insert or delete only drops the results it can change: those whose filter
+ * matches the row and whose cursor range contains it, or whose last page an appended row would
+ * extend. Writes to rows no cached query selects leave the cache alone. With the
+ * {@link RowReadModel} enabled, queries are answered from memory and bypass the cache.
+ */
+@Service
+public class RowQueryService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RowQueryService.class);
+
+    private final Cache<QueryKey, CachedResult> results;
+
+    // Bumped before every invalidation so a result read across a commit is never kept
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    private TableRowRepository repository;
+
+    @Autowired
+    private RowReadModel readModel;
+
+    public RowQueryService(@Value("${rows.query-cache.max-entries:500}") long maxEntries, MeterRegistry registry) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, results, "rowQueries");
+    }
+
+    /**
+     * Up to {@code size} rows matching the filter after {@code after} ({@code null} for the
+     * first page) in {@code sort} order.
+     */
+    public Slice<TableRow> query(RowFilter filter, RowCursor.Sort sort, RowCursor after, int size) {
+        if (readModel.isReady()) {
+            return readModel.query(filter, sort, after, size);
+        }
+
+        QueryKey key = new QueryKey(filter, sort, after == null ? "" : after.encode(), size);
+        CachedResult cached = results.getIfPresent(key);
+        if (cached != null) {
+            return cached.slice();
+        }
+
+        LOG.debug("Row query cache miss: {}", key);
+        long loadedAt = generation.get();
+        Specification<TableRow> spec = TableRowSpecifications.matching(filter);
+        if (after != null) {
+            spec = spec.and(TableRowSpecifications.after(after));
+        }
+        Slice<TableRow> slice = repository.findSlice(spec, TableRowSpecifications.orderBy(sort), size);
+
+        results.put(key, new CachedResult(filter, sort, after, slice));
+        // A write committed while reading may have been missed by its invalidation pass
+        if (generation.get() != loadedAt) {
+            results.invalidate(key);
+        }
+        return slice;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTableRowChanged(TableRowChangedEvent event) {
+        generation.incrementAndGet();
+        results.asMap().values().removeIf(result -> result.isAffectedBy(event.getRow()));
+    }
+
+    private record QueryKey(RowFilter filter, RowCursor.Sort sort, String after, int size) {
+    }
+
+    private record CachedResult(RowFilter filter, RowCursor.Sort sort, RowCursor after, Slice<TableRow> slice) {
+
+        boolean isAffectedBy(TableRow row) {
+            if (!filter.matches(row) || (after != null && !after.precedes(row))) {
+                return false;
+            }
+            List<TableRow> rows = slice.getContent();
+            // Without a next page, an appended row would show up here or flip hasNext
+            return !slice.hasNext() || rows.isEmpty()
+                    || !RowCursor.after(sort, rows.get(rows.size() - 1)).precedes(row);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.sap.service;
+
+import com.sap.dto.RowCursor;
+import com.sap.dto.RowFilter;
+import com.sap.entity.TableRow;
+import com.sap.event.TableRowChangedEvent;
+import com.sap.readmodel.RowColumns;
+import com.sap.repository.TableRowJdbcReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Optional in-memory copy of {@code table_row} ({@code rows.read-model.enabled}) that serves
+ * row listings and filtered queries without a database round trip. Loaded once at startup
+ * and then kept current from committed inserts and deletes; until the load has finished,
+ * {@link #isReady()} is false and callers read from the database.
+ */
+@Service
+public class RowReadModel {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RowReadModel.class);
+
+    private final boolean enabled;
+    private final TableRowJdbcReader jdbcReader;
+
+    private volatile RowColumns columns;
+
+    // Changes committed while the load runs, applied to the loaded copy before it goes live
+    private List<TableRowChangedEvent> pending;
+
+    @Autowired
+    public RowReadModel(@Value("${rows.read-model.enabled:false}") boolean enabled, TableRowJdbcReader jdbcReader) {
+        this.enabled = enabled;
+        this.jdbcReader = jdbcReader;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+
+        long start = System.currentTimeMillis();
+        RowColumns loaded = new RowColumns();
+        try {
+            jdbcReader.readAll(loaded::put);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        synchronized (this) {
+            pending.forEach(event -> apply(loaded, event));
+            pending = null;
+            columns = loaded;
+        }
+        LOG.info("Row read model loaded {} rows in {} ms", loaded.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTableRowChanged(TableRowChangedEvent event) {
+        if (pending != null) {
+            pending.add(event);
+        } else if (columns != null) {
+            apply(columns, event);
+        }
+    }
+
+    public boolean isReady() {
+        return columns != null;
+    }
+
+    /**
+     * Offset page {@code page} of {@code size} rows in id order.
+     */
+    public List<TableRow> getOffsetPage(int page, int size) {
+        return columns.page((long) page * size, size);
+    }
+
+    /**
+     * Same contract as {@link RowQueryService#query}.
+     */
+    public Slice<TableRow> query(RowFilter filter, RowCursor.Sort sort, RowCursor after, int size) {
+        List<TableRow> rows = columns.query(filter, sort, after, size + 1);
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, PageRequest.ofSize(size), hasNext);
+    }
+
+    private static void apply(RowColumns target, TableRowChangedEvent event) {
+        TableRow row = event.getRow();
+        if (row.getId() == null) {
+            return;
+        }
+        if (event.getType() == TableRowChangedEvent.Type.CREATED) {
+            target.put(row);
+        } else {
+            target.remove(row.getId());
+        }
+    }
+}
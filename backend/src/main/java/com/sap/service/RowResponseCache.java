@@ -0,0 +1,97 @@
+package com.sap.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serialized JSON of {@code GET /rows} pages, without the total count, so a repeated request
+ * reuses the bytes instead of serializing the rows again. An entry is tied to the source its
+ * rows came from and is rewritten once an unequal source is passed. {@link RowPageCache} hands
+ * out the same row list until a write in the page's range drops it, so with that list as source
+ * an entry survives writes elsewhere in the table; the count is appended per response.
+ */
+@Component
+public class RowResponseCache {
+
+    // Distinguishes stamps of this process from those of a previous run
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong stamps = new AtomicLong();
+
+    private final Cache<String, CachedPage> responses;
+
+    public RowResponseCache(@Value("${rows.response-cache.max-size-mb:32}") long maxSizeMb, MeterRegistry registry) {
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxSizeMb * 1024 * 1024)
+                .weigher((String request, CachedPage page) -> page.json.length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, responses, "rowResponses");
+    }
+
+    /**
+     * The page for {@code request}, written by {@code body} unless the entry was written from an
+     * equal {@code source}.
+     */
+    public CachedPage get(String request, Object source, BodyWriter body) throws IOException {
+        CachedPage cached = responses.getIfPresent(request);
+        if (cached != null && Objects.equals(cached.source, source)) {
+            return cached;
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        body.writeTo(buffer);
+        CachedPage page = new CachedPage(source, buffer.toByteArray(),
+                epoch + "-" + Long.toString(stamps.incrementAndGet(), 36));
+        responses.put(request, page);
+        return page;
+    }
+
+    /**
+     * The tag of the entry for {@code request} if it was written from an equal, non-null
+     * {@code source}, otherwise {@code null}; lets a conditional request be answered before the
+     * page is loaded.
+     */
+    public String currentTag(String request, Object source) {
+        CachedPage cached = responses.getIfPresent(request);
+        return cached != null && source != null && Objects.equals(cached.source, source) ? cached.tag : null;
+    }
+
+    @FunctionalInterface
+    public interface BodyWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Serialized page; {@code tag} is unique to these bytes and can label them in an ETag.
+     */
+    public static final class CachedPage {
+        private final Object source;
+        private final byte[] json;
+        private final String tag;
+
+        private CachedPage(Object source, byte[] json, String tag) {
+            this.source = source;
+            this.json = json;
+            this.tag = tag;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+}
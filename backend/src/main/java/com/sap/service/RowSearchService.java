@@ -0,0 +1,161 @@
+package com.sap.service;
+
+import com.sap.entity.TableRow;
+import com.sap.event.TableRowChangedEvent;
+import com.sap.repository.TableRowJdbcReader;
+import com.sap.repository.TableRowRepository;
+import com.sap.search.TextIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Keyword search over the (already sanitized) {@code typeFreeText} of all rows, answered from a
+ * {@link TextIndex} held in memory. The index is built at startup by reading id ranges in
+ * parallel on the export pool and then kept current from committed inserts and deletes. Changes
+ * that commit while a rebuild runs are applied to the live index and also buffered, then replayed
+ * into the rebuilt index before it replaces the live one.
+ */
+@Service
+public class RowSearchService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RowSearchService.class);
+
+    private volatile TextIndex index = new TextIndex();
+
+    // Changes seen while a rebuild runs, guarded by this; null when no rebuild runs
+    private List<TableRowChangedEvent> pending;
+
+    @Autowired
+    private TableRowRepository repository;
+
+    @Autowired
+    private TableRowJdbcReader jdbcReader;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("exportPool")
+    private ForkJoinPool exportPool;
+
+    @Value("${rows.search.rebuild-chunk-size:20000}")
+    private long chunkSize;
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        TransactionTemplate readOnly = readOnlyTransaction();
+        Long minId = readOnly.execute(status -> repository.findMinId());
+        Long maxId = readOnly.execute(status -> repository.findMaxId());
+
+        List<CompletableFuture<TextIndex>> parts = new ArrayList<>();
+        if (minId != null && maxId != null) {
+            for (long fromId = minId; fromId <= maxId; fromId += chunkSize) {
+                long from = fromId;
+                long to = Math.min(maxId, fromId + chunkSize - 1);
+                parts.add(CompletableFuture.supplyAsync(() -> indexRange(from, to), exportPool));
+            }
+        }
+
+        TextIndex rebuilt = new TextIndex();
+        try {
+            rebuilt.replaceWith(parts.stream().map(CompletableFuture::join).toList());
+        } catch (RuntimeException e) {
+            // The live index stays in use, it has seen every change
+            synchronized (this) {
+                pending = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            // Adds and removes are idempotent, so replaying changes the scan already saw is harmless
+            pending.forEach(event -> apply(rebuilt, event));
+            pending = null;
+            index = rebuilt;
+        }
+        LOG.info("Search index rebuilt from {} chunks in {} ms: {} tokens",
+                parts.size(), System.currentTimeMillis() - start, rebuilt.getTokenCount());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTableRowChanged(TableRowChangedEvent event) {
+        if (event.getRow().getId() == null) {
+            return;
+        }
+        apply(index, event);
+        if (pending != null) {
+            pending.add(event);
+        }
+    }
+
+    /**
+     * The newest {@code limit} rows whose text contains every term of {@code query}; see
+     * {@link TextIndex#search}.
+     */
+    public Result search(String query, int limit) {
+        long[] ids = index.search(query);
+
+        List<Long> newest = new ArrayList<>(Math.min(limit, ids.length));
+        for (int i = ids.length - 1; i >= 0 && newest.size() < limit; i--) {
+            newest.add(ids[i]);
+        }
+
+        List<TableRow> rows = newest.isEmpty()
+                ? List.of()
+                : repository.findAllById(newest).stream()
+                        .sorted(Comparator.comparing(TableRow::getId).reversed())
+                        .toList();
+        return new Result(rows, ids.length);
+    }
+
+    private static void apply(TextIndex target, TableRowChangedEvent event) {
+        TableRow row = event.getRow();
+        if (event.getType() == TableRowChangedEvent.Type.CREATED) {
+            target.add(row.getId(), row.getTypeFreeText());
+        } else {
+            target.remove(row.getId(), row.getTypeFreeText());
+        }
+    }
+
+    private TextIndex indexRange(long fromId, long toId) {
+        return readOnlyTransaction().execute(status -> {
+            TextIndex part = new TextIndex();
+            try {
+                jdbcReader.readByIdRange(fromId, toId,
+                        (id, typeNumber, typeSelector, typeFreeText, createdAt) -> part.add(id, typeFreeText));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return part;
+        });
+    }
+
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    public record Result(List<TableRow> rows, long totalMatches) {
+    }
+}
@@ -0,0 +1,233 @@
+package com.sap.service;
+
+import com.sap.entity.TableRow;
+import com.sap.event.TableRowChangedEvent;
+import com.sap.repository.TableRowRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Aggregates over {@code table_row} kept in memory: rows per selector, a histogram of type
+ * numbers in power-of-two buckets and rows per {@code createdAt} hour. Built with one pass over
+ * the table at startup, then updated from committed inserts and deletes, so reading them does
+ * not touch the database. A rebuild fills fresh aggregates while the current ones keep serving
+ * reads and following changes; changes seen meanwhile are buffered and replayed into the new
+ * aggregates before they replace the current ones.
+ */
+@Service
+public class RowStatisticsService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RowStatisticsService.class);
+
+    // Bucket 0 holds values below 1, bucket k the values in [2^(k-1), 2^k)
+    private static final int TYPE_NUMBER_BUCKETS = 32;
+
+    private volatile Aggregates aggregates = new Aggregates();
+
+    // Changes seen while a rebuild runs, guarded by this; null when no rebuild runs
+    private List<TableRowChangedEvent> pending;
+
+    private final TableRowRepository repository;
+    private final int retentionHours;
+
+    public RowStatisticsService(TableRowRepository repository,
+                                @Value("${rows.stats.retention-hours:168}") int retentionHours) {
+        this.repository = repository;
+        this.retentionHours = retentionHours;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+
+        Aggregates rebuilt = new Aggregates();
+        ScannedIds scanned = new ScannedIds();
+        try (Stream<Object[]> columns = repository.streamStatisticsColumns()) {
+            Iterator<Object[]> iterator = columns.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                scanned.add((Long) row[0]);
+                rebuilt.apply((String) row[1], (Integer) row[2], (LocalDateTime) row[3], 1);
+            }
+        } catch (RuntimeException e) {
+            // The current aggregates stay in use, they have seen every change
+            synchronized (this) {
+                pending = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            // A buffered change may or may not be part of what the scan read, so it is only
+            // replayed where it changes whether the row is counted
+            for (TableRowChangedEvent event : pending) {
+                TableRow row = event.getRow();
+                boolean created = event.getType() == TableRowChangedEvent.Type.CREATED;
+                if (row.getId() == null || scanned.set(row.getId(), created) != created) {
+                    rebuilt.apply(row.getTypeSelector(), row.getTypeNumber(), row.getCreatedAt(), created ? 1 : -1);
+                }
+            }
+            pending = null;
+            aggregates = rebuilt;
+        }
+        LOG.info("Row statistics rebuilt from {} rows", scanned.count);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTableRowChanged(TableRowChangedEvent event) {
+        TableRow row = event.getRow();
+        int delta = event.getType() == TableRowChangedEvent.Type.CREATED ? 1 : -1;
+        aggregates.apply(row.getTypeSelector(), row.getTypeNumber(), row.getCreatedAt(), delta);
+        if (pending != null) {
+            pending.add(event);
+        }
+    }
+
+    public Map<String, Long> getRowsBySelector() {
+        Map<String, Long> counts = new TreeMap<>();
+        aggregates.rowsBySelector.forEach((selector, count) -> {
+            long value = count.sum();
+            if (value > 0) {
+                counts.put(selector, value);
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Non-empty type number buckets in ascending order, each with its inclusive bounds.
+     */
+    public List<Map<String, Object>> getTypeNumberHistogram() {
+        AtomicLongArray typeNumberHistogram = aggregates.typeNumberHistogram;
+        List<Map<String, Object>> buckets = new ArrayList<>();
+        for (int i = 0; i < TYPE_NUMBER_BUCKETS; i++) {
+            long count = typeNumberHistogram.get(i);
+            if (count > 0) {
+                Map<String, Object> bucket = new LinkedHashMap<>();
+                bucket.put("from", i == 0 ? Integer.MIN_VALUE : 1L << (i - 1));
+                bucket.put("to", i == 0 ? 0 : (1L << i) - 1);
+                bucket.put("count", count);
+                buckets.add(bucket);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Rows created in each of the last {@code hours} hours, oldest first, including the
+     * current, partial hour.
+     */
+    public List<Map<String, Object>> getRowsPerHour(int hours) {
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        Map<Long, LongAdder> rowsByHour = aggregates.rowsByHour;
+        List<Map<String, Object>> series = new ArrayList<>(hours);
+        for (int i = hours - 1; i >= 0; i--) {
+            LocalDateTime hour = currentHour.minusHours(i);
+            LongAdder count = rowsByHour.get(epochHour(hour));
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("hour", hour);
+            point.put("count", count == null ? 0 : count.sum());
+            series.add(point);
+        }
+        return series;
+    }
+
+    public int getRetentionHours() {
+        return retentionHours;
+    }
+
+    private final class Aggregates {
+        private final ConcurrentHashMap<String, LongAdder> rowsBySelector = new ConcurrentHashMap<>();
+        private final AtomicLongArray typeNumberHistogram = new AtomicLongArray(TYPE_NUMBER_BUCKETS);
+        private final ConcurrentHashMap<Long, LongAdder> rowsByHour = new ConcurrentHashMap<>();
+
+        private void apply(String selector, Integer typeNumber, LocalDateTime createdAt, int delta) {
+            if (selector != null) {
+                rowsBySelector.computeIfAbsent(selector, key -> new LongAdder()).add(delta);
+            }
+            if (typeNumber != null) {
+                typeNumberHistogram.addAndGet(bucket(typeNumber), delta);
+            }
+            if (createdAt != null) {
+                long hour = epochHour(createdAt);
+                long oldest = epochHour(LocalDateTime.now()) - retentionHours;
+                if (hour > oldest) {
+                    LongAdder count = rowsByHour.get(hour);
+                    if (count == null) {
+                        count = rowsByHour.computeIfAbsent(hour, key -> new LongAdder());
+                        // A new hour started: drop the ones that fell out of the retention window
+                        rowsByHour.keySet().removeIf(key -> key <= oldest);
+                    }
+                    count.add(delta);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ids a rebuild scan counted, one bit each relative to the first id since the scan reads in
+     * id order.
+     */
+    private static final class ScannedIds {
+        private final BitSet ids = new BitSet();
+        // Ids below the first scanned one, which the scan did not count
+        private final Set<Long> others = new HashSet<>();
+        private long firstId = -1;
+        private long count;
+
+        void add(long id) {
+            if (firstId < 0) {
+                firstId = id;
+            }
+            ids.set(Math.toIntExact(id - firstId));
+            count++;
+        }
+
+        /**
+         * Marks {@code id} as counted or not and returns whether it was counted before.
+         */
+        boolean set(long id, boolean counted) {
+            if (firstId < 0 || id < firstId) {
+                return counted ? !others.add(id) : others.remove(id);
+            }
+            int index = Math.toIntExact(id - firstId);
+            boolean previous = ids.get(index);
+            ids.set(index, counted);
+            return previous;
+        }
+    }
+
+    private static int bucket(int typeNumber) {
+        return typeNumber < 1 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(typeNumber);
+    }
+
+    private static long epochHour(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+}
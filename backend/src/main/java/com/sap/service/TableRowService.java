@@ -4,9 +4,9 @@ import com.sap.annotation.LogDatabaseCount;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import com.sap.event.RowCreatedEvent;
 import com.sap.metrics.TableRowMetrics;
 import com.sap.dto.CreateTableRowRequest;
@@ -30,7 +30,14 @@ public class TableRowService {
     @Autowired
     private TableRowMetrics metrics;
 
-    @Transactional
+    @Autowired
+    private RowGroupCommitter groupCommitter;
+
+    @Value("${rows.group-commit.enabled:false}")
+    private boolean groupCommit;
+
+    // Not transactional: a caller waiting for its group must not hold a connection, and
+    // repository.save runs in its own transaction
     @LogDatabaseCount(entity = "TableRow")
     public TableRow create(CreateTableRowRequest request) {
         LOG.info("Creating row - typeNumber: {}, typeSelector: {}",
@@ -42,7 +49,7 @@ public class TableRowService {
                 .typeFreeText(sanitizationService.sanitize(request.getTypeFreeText()))
                 .build();
 
-        TableRow saved = repository.save(row);
+        TableRow saved = groupCommit ? groupCommitter.save(row) : repository.save(row);
 
         eventPublisher.publishEvent(new RowCreatedEvent(this, saved));
 
@@ -0,0 +1,36 @@
+package com.sap.service;
+
+import com.sap.event.TableRowChangedEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the {@code table_row} contents, bumped after every committed insert or
+ * delete. Derived artifacts (cached exports, pages) are keyed by it instead of being flushed.
+ */
+@Service
+public class TableVersionService {
+
+    // Distinguishes versions of this process from those of a previous run
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong version = new AtomicLong();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTableRowChanged(TableRowChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Opaque, process-unique tag for the given version, safe for file names and ETags.
+     */
+    public String tag(long version) {
+        return epoch + "-" + Long.toString(version, 36);
+    }
+}
@@ -0,0 +1,118 @@
+package com.sap.benchmark;
+
+import com.sap.entity.TableRow;
+import com.sap.repository.TableRowRepository;
+import com.sap.service.BatchTableRowService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput of {@link BatchTableRowService#saveBatch} with pooled sequence ids, compared
+ * with one INSERT per row that reads back its generated key, which is what IDENTITY ids made
+ * Hibernate do. On the in-memory H2 database round trips are cheap, so the gap understates the
+ * one against a networked database. Run with
+ * {@code mvn test -Dtest=BatchInsertBenchmark -Dbenchmark=true}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("Batch insert benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BatchInsertBenchmark {
+
+    private static final int ROWS = 20_000;
+    private static final int WARMUP_ROUNDS = 3;
+
+    @Autowired
+    private BatchTableRowService batchService;
+
+    @Autowired
+    private TableRowRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("saveBatch sends JDBC batches and outpaces per-row IDENTITY inserts")
+    void insert() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            insertPerRow();
+            batchService.saveBatch(rows());
+        }
+
+        long start = System.nanoTime();
+        insertPerRow();
+        double perRow = ROWS / ((System.nanoTime() - start) / 1e9);
+
+        List<TableRow> rows = rows();
+        statistics.clear();
+        start = System.nanoTime();
+        batchService.saveBatch(rows);
+        double batched = ROWS / ((System.nanoTime() - start) / 1e9);
+        long statements = statistics.getPrepareStatementCount();
+
+        System.out.printf("per-row IDENTITY inserts: %.0f rows/s%n", perRow);
+        System.out.printf("saveBatch with pooled ids: %.0f rows/s, %d statements for %d rows%n",
+                batched, statements, ROWS);
+        // One insert statement per batch of 50 plus one sequence call per 50 ids
+        assertThat(statements).isLessThan(ROWS / 10);
+        assertThat(rows).allSatisfy(row -> assertThat(row.getId()).isNotNull());
+    }
+
+    private void insertPerRow() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS identity_row (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "type_number INT, type_selector VARCHAR(255), type_free_text TEXT, created_at TIMESTAMP)");
+        jdbcTemplate.execute("TRUNCATE TABLE identity_row");
+        for (TableRow row : rows()) {
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        "INSERT INTO identity_row (type_number, type_selector, type_free_text, created_at) "
+                                + "VALUES (?, ?, ?, ?)",
+                        Statement.RETURN_GENERATED_KEYS);
+                statement.setInt(1, row.getTypeNumber());
+                statement.setString(2, row.getTypeSelector());
+                statement.setString(3, row.getTypeFreeText());
+                statement.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+                return statement;
+            }, new GeneratedKeyHolder());
+        }
+    }
+
+    private static List<TableRow> rows() {
+        return IntStream.range(0, ROWS)
+                .mapToObj(i -> TableRow.builder()
+                        .typeNumber(i % 1000 + 1)
+                        .typeSelector(i % 2 == 0 ? "A" : "B")
+                        .typeFreeText("Row number " + i)
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,95 @@
+package com.sap.benchmark;
+
+import com.sap.dto.CreateTableRowRequest;
+import com.sap.repository.TableRowRepository;
+import com.sap.service.TableRowService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Single-row create throughput at increasing numbers of concurrent callers, one transaction per
+ * row compared with group commit. Run with
+ * {@code mvn test -Dtest=GroupCommitBenchmark -Dbenchmark=true}.
+ */
+@SpringBootTest(properties = "logging.level.com.sap=WARN")
+@ActiveProfiles("test")
+@DisplayName("Group commit benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class GroupCommitBenchmark {
+
+    private static final int ROWS_PER_CALLER = 500;
+    private static final int[] CONCURRENCY = {1, 4, 16, 64};
+
+    @Autowired
+    private TableRowService tableRowService;
+
+    @Autowired
+    private TableRowRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(tableRowService, "groupCommit", false);
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Group commit throughput grows with concurrent callers")
+    void create() throws Exception {
+        double[] direct = new double[CONCURRENCY.length];
+        double[] grouped = new double[CONCURRENCY.length];
+        // Warm up both paths
+        throughput(false, 4);
+        throughput(true, 4);
+        for (int i = 0; i < CONCURRENCY.length; i++) {
+            direct[i] = throughput(false, CONCURRENCY[i]);
+            grouped[i] = throughput(true, CONCURRENCY[i]);
+            System.out.printf("%2d callers: %8.0f rows/s per-row transactions, %8.0f rows/s group commit%n",
+                    CONCURRENCY[i], direct[i], grouped[i]);
+        }
+        assertThat(grouped[CONCURRENCY.length - 1]).isGreaterThan(grouped[0]);
+    }
+
+    private double throughput(boolean groupCommit, int callers) throws Exception {
+        ReflectionTestUtils.setField(tableRowService, "groupCommit", groupCommit);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < callers; c++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < ROWS_PER_CALLER; i++) {
+                        tableRowService.create(request(i));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return callers * ROWS_PER_CALLER / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static CreateTableRowRequest request(int i) {
+        CreateTableRowRequest request = new CreateTableRowRequest();
+        request.setTypeNumber(i % 1000 + 1);
+        request.setTypeSelector(i % 2 == 0 ? "A" : "B");
+        request.setTypeFreeText("Row number " + i);
+        return request;
+    }
+}
@@ -0,0 +1,127 @@
+package com.sap.benchmark;
+
+import com.sap.entity.TableRow;
+import com.sap.export.CsvExportStrategy;
+import com.sap.export.XmlExportStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bytes allocated per row by the CSV and XML encoders, compared with the previous
+ * String-based encoders. Run with {@code mvn test -Dtest=TextExportAllocationBenchmark -Dbenchmark=true}.
+ */
+@DisplayName("Text export allocation benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TextExportAllocationBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int WARMUP_ROUNDS = 5;
+
+    private final List<TableRow> rows = IntStream.range(0, ROWS)
+            .mapToObj(i -> TableRow.builder()
+                    .id((long) i)
+                    .typeNumber(i % 1000)
+                    .typeSelector(i % 2 == 0 ? "A" : "B")
+                    .typeFreeText(i % 10 == 0 ? "needs, \"escaping\" & <markup>" : "Row number " + i)
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(i).plusNanos(i * 1000L))
+                    .build())
+            .toList();
+
+    @Test
+    @DisplayName("CSV encoder allocates less per row than String escaping")
+    void csv() throws IOException {
+        double legacy = bytesPerRow(out -> legacyCsv(rows, out));
+        double current = bytesPerRow(out -> new CsvExportStrategy().writeRows(rows.stream(), out));
+
+        report("csv", legacy, current);
+        assertThat(current).isLessThan(legacy);
+    }
+
+    @Test
+    @DisplayName("XML encoder allocates less per row than String escaping")
+    void xml() throws IOException {
+        double legacy = bytesPerRow(out -> legacyXml(rows, out));
+        double current = bytesPerRow(out -> new XmlExportStrategy().writeRows(rows.stream(), out));
+
+        report("xml", legacy, current);
+        assertThat(current).isLessThan(legacy);
+    }
+
+    private static double bytesPerRow(Encoder encoder) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            encoder.encode(OutputStream.nullOutputStream());
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        encoder.encode(OutputStream.nullOutputStream());
+        return (threads.getCurrentThreadAllocatedBytes() - before) / (double) ROWS;
+    }
+
+    private static void report(String format, double legacy, double current) {
+        System.out.printf("%s: %.1f bytes/row before, %.1f bytes/row after (%.0f%% less)%n",
+                format, legacy, current, 100 * (1 - current / legacy));
+    }
+
+    // The encoders as they were before Utf8Buffer, kept as the baseline
+
+    private static void legacyCsv(List<TableRow> rows, OutputStream out) throws IOException {
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        for (TableRow row : rows) {
+            csv.append(String.valueOf(row.getId())).append(",")
+                    .append(String.valueOf(row.getTypeNumber())).append(",")
+                    .append(escapeCsv(row.getTypeSelector())).append(",")
+                    .append(escapeCsv(row.getTypeFreeText())).append(",")
+                    .append(String.valueOf(row.getCreatedAt())).append("\n");
+        }
+        csv.flush();
+    }
+
+    private static void legacyXml(List<TableRow> rows, OutputStream out) throws IOException {
+        Writer xml = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        for (TableRow row : rows) {
+            xml.append("  <row>\n");
+            xml.append("    <id>").append(String.valueOf(row.getId())).append("</id>\n");
+            xml.append("    <typeNumber>").append(String.valueOf(row.getTypeNumber())).append("</typeNumber>\n");
+            xml.append("    <typeSelector>").append(escapeXml(row.getTypeSelector())).append("</typeSelector>\n");
+            xml.append("    <typeFreeText>").append(escapeXml(row.getTypeFreeText())).append("</typeFreeText>\n");
+            xml.append("    <createdAt>").append(String.valueOf(row.getCreatedAt())).append("</createdAt>\n");
+            xml.append("  </row>\n");
+        }
+        xml.flush();
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) return "";
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static String escapeXml(String value) {
+        if (value == null) return "";
+        return value.replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;")
+                .replace("\"", "&quot;")
+                .replace("'", "&apos;");
+    }
+
+    private interface Encoder {
+        void encode(OutputStream out) throws IOException;
+    }
+}
@@ -3,11 +3,13 @@ package com.sap.integration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sap.dto.CreateTableRowRequest;
 import com.sap.entity.TableRow;
+import com.sap.feed.RowChangeFeed;
 import com.sap.repository.TableRowRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
@@ -15,6 +17,10 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -31,6 +37,9 @@ class TableRowControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private RowChangeFeed changeFeed;
+
     @Autowired
     private TableRowRepository repository;
 
@@ -39,6 +48,14 @@ class TableRowControllerIntegrationTest {
         repository.deleteAll();
     }
 
+    private static TableRow row(int typeNumber, String typeSelector, String typeFreeText) {
+        return TableRow.builder()
+                .typeNumber(typeNumber)
+                .typeSelector(typeSelector)
+                .typeFreeText(typeFreeText)
+                .build();
+    }
+
     @Test
     @DisplayName("POST /rows - Should create new row")
     void shouldCreateNewRow() throws Exception {
@@ -63,11 +80,7 @@ class TableRowControllerIntegrationTest {
     @DisplayName("GET /rows - Should return paginated rows")
     void shouldReturnPaginatedRows() throws Exception {
         for (int i = 1; i <= 15; i++) {
-            TableRow row = new TableRow();
-            row.setTypeNumber(i);
-            row.setTypeSelector("Type" + i);
-            row.setTypeFreeText("Text " + i);
-            repository.save(row);
+            repository.save(row(i, "Type" + i, "Text " + i));
         }
 
         mockMvc.perform(get("/rows")
@@ -80,6 +93,212 @@ class TableRowControllerIntegrationTest {
                 .andExpect(jsonPath("$.size").value(10));
     }
 
+    @Test
+    @DisplayName("GET /rows - Should not serve a cached page that a new row changed")
+    void shouldRefreshCachedPageAfterCreate() throws Exception {
+        repository.save(row(1, "A", "First"));
+
+        mockMvc.perform(get("/rows"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1));
+
+        CreateTableRowRequest request = new CreateTableRowRequest();
+        request.setTypeNumber(2);
+        request.setTypeSelector("B");
+        request.setTypeFreeText("Second");
+        mockMvc.perform(post("/rows")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/rows"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.totalCount").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /rows - Should answer 304 until a write changes the table")
+    void shouldHonorIfNoneMatch() throws Exception {
+        TableRow row = repository.save(row(1, "A", "First"));
+
+        String etag = mockMvc.perform(get("/rows"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/rows").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        repository.deleteById(row.getId());
+
+        mockMvc.perform(get("/rows").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("GET /rows - Should keep a page's serialized body when a write lands on another page")
+    void shouldKeepUntouchedPageOnWrite() throws Exception {
+        for (int i = 1; i <= 15; i++) {
+            repository.save(row(1, "A", "Row " + i));
+        }
+
+        String before = mockMvc.perform(get("/rows").param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // Appended to the second page; the first only sees the new count
+        repository.save(row(1, "A", "Row 16"));
+
+        String after = mockMvc.perform(get("/rows").param("size", "10").header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(10))
+                .andExpect(jsonPath("$.totalCount").value(16))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        assertThat(after).isNotEqualTo(before);
+        assertThat(after.substring(0, after.indexOf("-rows-"))).isEqualTo(before.substring(0, before.indexOf("-rows-")));
+    }
+
+    @Test
+    @DisplayName("GET /rows?after - Should page by cursor until there are no more rows")
+    void shouldPageByCursor() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            repository.save(row(i, "Type" + i, "Text " + i));
+        }
+
+        String first = mockMvc.perform(get("/rows")
+                .param("after", "")
+                .param("size", "3")
+                .param("sort", "createdAt")
+                .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.data[0].typeNumber").value(1))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.totalCount").value(5))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String nextCursor = objectMapper.readTree(first).get("nextCursor").asText();
+
+        mockMvc.perform(get("/rows")
+                .param("after", nextCursor)
+                .param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].typeNumber").value(4))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.nextCursor").isEmpty())
+                .andExpect(jsonPath("$.totalCount").doesNotExist());
+
+        mockMvc.perform(get("/rows")
+                .param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor"));
+    }
+
+    @Test
+    @DisplayName("GET /rows/query - Should filter by selector and type number range with cursor paging")
+    void shouldQueryRowsByFilter() throws Exception {
+        for (int i = 1; i <= 6; i++) {
+            repository.save(row(i, i % 2 == 0 ? "A" : "B", "Text " + i));
+        }
+
+        String first = mockMvc.perform(get("/rows/query")
+                .param("typeSelector", "A")
+                .param("minTypeNumber", "2")
+                .param("maxTypeNumber", "5")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].typeNumber").value(2))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String nextCursor = objectMapper.readTree(first).get("nextCursor").asText();
+
+        mockMvc.perform(get("/rows/query")
+                .param("typeSelector", "A")
+                .param("minTypeNumber", "2")
+                .param("maxTypeNumber", "5")
+                .param("size", "1")
+                .param("after", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].typeNumber").value(4))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        mockMvc.perform(get("/rows/query")
+                .param("minTypeNumber", "5")
+                .param("maxTypeNumber", "2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("minTypeNumber must not exceed maxTypeNumber"));
+    }
+
+    @Test
+    @DisplayName("GET /rows/search - Should find rows by keyword and prefix and forget deleted rows")
+    void shouldSearchRowsByText() throws Exception {
+        repository.save(row(1, "A", "Invoice for Café order"));
+        TableRow deleted = repository.save(row(2, "B", "Invoices archived"));
+
+        mockMvc.perform(get("/rows/search").param("q", "invoice* cafe"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalMatches").value(1))
+                .andExpect(jsonPath("$.data[0].typeFreeText").value("Invoice for Café order"));
+
+        mockMvc.perform(get("/rows/search").param("q", "INVOICE*"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalMatches").value(2));
+
+        repository.deleteById(deleted.getId());
+
+        mockMvc.perform(get("/rows/search").param("q", "invoices"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalMatches").value(0));
+
+        mockMvc.perform(get("/rows/search").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Query must not be empty"));
+    }
+
+    @Test
+    @DisplayName("GET /rows/changes - Should return changes after the cursor as NDJSON")
+    void shouldPollChangesAfterCursor() throws Exception {
+        long after = changeFeed.getSequence();
+
+        TableRow row = repository.save(row(1, "A", "Changed"));
+        repository.deleteById(row.getId());
+
+        MvcResult result = mockMvc.perform(get("/rows/changes")
+                .param("after", Long.toString(after))
+                .param("waitSeconds", "0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+                .split("\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("seq").asLong()).isEqualTo(after + 1);
+        assertThat(objectMapper.readTree(lines[0]).get("type").asText()).isEqualTo("created");
+        assertThat(objectMapper.readTree(lines[0]).at("/row/typeFreeText").asText()).isEqualTo("Changed");
+        assertThat(objectMapper.readTree(lines[1]).get("type").asText()).isEqualTo("deleted");
+    }
+
     @Test
     @DisplayName("GET /rows - Should reject invalid size parameter")
     void shouldRejectInvalidSize() throws Exception {
@@ -92,11 +311,7 @@ class TableRowControllerIntegrationTest {
     @Test
     @DisplayName("DELETE /rows/{id} - Should delete row")
     void shouldDeleteRow() throws Exception {
-        TableRow row = new TableRow();
-        row.setTypeNumber(1);
-        row.setTypeSelector("A");
-        row.setTypeFreeText("To be deleted");
-        row = repository.save(row);
+        TableRow row = repository.save(row(1, "A", "To be deleted"));
 
         mockMvc.perform(delete("/rows/" + row.getId()))
                 .andExpect(status().isNoContent());
@@ -123,11 +338,315 @@ class TableRowControllerIntegrationTest {
                 "{\"typeNumber\":2,\"typeSelector\":\"B\",\"typeFreeText\":\"Text2\"}" +
                 "]";
 
-        mockMvc.perform(post("/rows/bulk")
+        String body = mockMvc.perform(post("/rows/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(bulkRequest))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("processing"))
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.jobId").exists())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String jobId = objectMapper.readTree(body).get("jobId").asText();
+
+        String status = "";
+        for (int attempt = 0; attempt < 100 && !status.equals("COMPLETED"); attempt++) {
+            Thread.sleep(50);
+            String job = mockMvc.perform(get("/rows/bulk/jobs/" + jobId))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            status = objectMapper.readTree(job).get("status").asText();
+        }
+        assertThat(status).isEqualTo("COMPLETED");
+
+        mockMvc.perform(get("/rows/bulk/jobs/" + jobId))
+                .andExpect(jsonPath("$.processed").value(2))
+                .andExpect(jsonPath("$.ids.length()").value(2));
+        assertThat(repository.count()).isEqualTo(2);
+
+        mockMvc.perform(get("/rows/bulk/jobs/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("POST /rows/bulk?parallel=true - Should report partitions of a parallel job")
+    void shouldRunParallelBulkJob() throws Exception {
+        String bulkRequest = "[" +
+                "{\"typeNumber\":1,\"typeSelector\":\"A\",\"typeFreeText\":\"Text1\"}," +
+                "{\"typeNumber\":2,\"typeSelector\":\"B\",\"typeFreeText\":\"Text2\"}," +
+                "{\"typeNumber\":3,\"typeSelector\":\"C\",\"typeFreeText\":\"Text3\"}" +
+                "]";
+
+        String body = mockMvc.perform(post("/rows/bulk")
+                .param("parallel", "true")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(bulkRequest))
                 .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.strategy").value("parallel_partitions"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String jobId = objectMapper.readTree(body).get("jobId").asText();
+
+        String status = "";
+        for (int attempt = 0; attempt < 100 && !status.equals("COMPLETED"); attempt++) {
+            Thread.sleep(50);
+            String job = mockMvc.perform(get("/rows/bulk/jobs/" + jobId))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            status = objectMapper.readTree(job).get("status").asText();
+        }
+        assertThat(status).isEqualTo("COMPLETED");
+
+        mockMvc.perform(get("/rows/bulk/jobs/" + jobId))
+                .andExpect(jsonPath("$.ids.length()").value(3))
+                .andExpect(jsonPath("$.partitions[0].status").value("COMPLETED"))
+                .andExpect(jsonPath("$.partitions[0].to").value(3));
+        assertThat(repository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("POST /rows/import - Should import NDJSON and report invalid rows by line")
+    void shouldImportNdjson() throws Exception {
+        String body = "{\"typeNumber\":1,\"typeSelector\":\"A\",\"typeFreeText\":\"First\"}\n"
+                + "{\"typeNumber\":0,\"typeSelector\":\"B\",\"typeFreeText\":\"Invalid\"}\n"
+                + "{\"typeNumber\":3,\"typeSelector\":\"C\",\"typeFreeText\":\"Third\",\"id\":99}\n";
+
+        mockMvc.perform(post("/rows/import")
+                .contentType("application/x-ndjson")
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].error").value("Type Number must be at least 1"));
+
+        assertThat(repository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("POST /rows/import - Should import CSV and stop at malformed input")
+    void shouldImportCsv() throws Exception {
+        String body = "Type Number,Type Selector,Type Free Text\n"
+                + "1,A,\"Text, 1\"\n"
+                + "2,B,Text 2\n"
+                + "x,C,Text 3\n";
+
+        mockMvc.perform(post("/rows/import")
+                .contentType("text/csv")
+                .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.error").value("Line 4: Type Number is not a number: x"));
+
+        assertThat(repository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("GET /rows/export - Should stream CSV export")
+    void shouldStreamCsvExport() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            repository.save(row(i, "Type" + i, "Text, " + i));
+        }
+
+        MvcResult result = mockMvc.perform(get("/rows/export")
+                .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String csv = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(csv.split("\n")).hasSize(4);
+        assertThat(csv).startsWith("ID,Type Number,Type Selector,Type Free Text,Created At");
+        assertThat(csv).contains("\"Text, 2\"");
+    }
+
+    @Test
+    @DisplayName("GET /rows/export - Should answer 304 for an unchanged table and encoding")
+    void shouldHonorIfNoneMatchOnExport() throws Exception {
+        repository.save(row(1, "A", "Text"));
+
+        MvcResult result = mockMvc.perform(get("/rows/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        mockMvc.perform(get("/rows/export").param("format", "csv").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        MvcResult gzipped = mockMvc.perform(get("/rows/export")
+                .param("format", "csv")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(gzipped)).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /rows/stream - Should stream filtered rows as NDJSON after an id")
+    void shouldStreamFilteredRows() throws Exception {
+        long firstId = 0;
+        for (int i = 1; i <= 5; i++) {
+            TableRow row = repository.save(row(i, i % 2 == 0 ? "B" : "A", "Text " + i));
+            if (i == 1) {
+                firstId = row.getId();
+            }
+        }
+
+        MvcResult result = mockMvc.perform(get("/rows/stream")
+                .param("typeSelector", "A")
+                .param("afterId", Long.toString(firstId)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+                .split("\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("typeNumber").asInt()).isEqualTo(3);
+        assertThat(objectMapper.readTree(lines[1]).get("typeNumber").asInt()).isEqualTo(5);
+
+        mockMvc.perform(get("/rows/stream").param("minTypeNumber", "5").param("maxTypeNumber", "2"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /rows/export - Should reject unsupported format")
+    void shouldRejectUnsupportedExportFormat() throws Exception {
+        MvcResult result = mockMvc.perform(get("/rows/export")
+                .param("format", "pdf"))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /rows/export?parallel=true - Should stream chunks in id order")
+    void shouldStreamParallelJsonExport() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            repository.save(row(i, "Type" + i, "Text " + i));
+        }
+
+        MvcResult result = mockMvc.perform(get("/rows/export")
+                .param("format", "json")
+                .param("parallel", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].typeNumber").value(1))
+                .andExpect(jsonPath("$[2].typeNumber").value(3));
+    }
+
+    @Test
+    @DisplayName("GET /rows/export - Should gzip when the client accepts it")
+    void shouldGzipExportWhenAccepted() throws Exception {
+        repository.save(row(1, "A", "Compressed"));
+
+        MvcResult result = mockMvc.perform(get("/rows/export")
+                .param("format", "csv")
+                .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        String csv = new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertThat(csv).contains("Compressed");
+    }
+
+    @Test
+    @DisplayName("GET /rows/export - Should serve unchanged exports from the cache")
+    void shouldServeRepeatedExportFromCache() throws Exception {
+        repository.save(row(1, "A", "Cached"));
+
+        String first = exportXml("MISS");
+        String second = exportXml("HIT");
+        assertThat(second).isEqualTo(first);
+
+        repository.save(row(2, "B", "Fresh"));
+
+        assertThat(exportXml("MISS")).contains("Fresh");
+    }
+
+    private String exportXml(String expectedCacheStatus) throws Exception {
+        MvcResult result = mockMvc.perform(get("/rows/export")
+                .param("format", "xml"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("X-Export-Cache", expectedCacheStatus))
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    @Test
+    @DisplayName("GET /rows/export?sinceId - Should export only newer rows and return the next cursor")
+    void shouldExportDeltaSinceId() throws Exception {
+        TableRow old = repository.save(row(1, "A", "Old"));
+        TableRow fresh = repository.save(row(2, "B", "Fresh"));
+
+        MvcResult result = mockMvc.perform(get("/rows/export")
+                .param("format", "json")
+                .param("sinceId", String.valueOf(old.getId())))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("X-Next-Cursor", "sinceId=" + fresh.getId()))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].typeFreeText").value("Fresh"));
+    }
+
+    @Test
+    @DisplayName("POST /rows/export/excel - Should start a job whose status can be polled")
+    void shouldStartExcelExportJob() throws Exception {
+        String body = mockMvc.perform(post("/rows/export/excel")
+                .param("userId", "1"))
+                .andExpect(status().isAccepted())
                 .andExpect(jsonPath("$.status").value("processing"))
-                .andExpect(jsonPath("$.count").value(2));
+                .andExpect(jsonPath("$.jobId").exists())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String jobId = objectMapper.readTree(body).get("jobId").asText();
+
+        mockMvc.perform(get("/rows/export/jobs/" + jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.jobId").value(jobId))
+                .andExpect(jsonPath("$.type").value("excel-export"));
+
+        mockMvc.perform(get("/rows/export/jobs/unknown"))
+                .andExpect(status().isNotFound());
     }
 }
@@ -0,0 +1,87 @@
+package com.sap.unit;
+
+import com.sap.dto.CreateTableRowRequest;
+import com.sap.entity.TableRow;
+import com.sap.job.Job;
+import com.sap.job.JobRegistry;
+import com.sap.job.JobStatus;
+import com.sap.service.AsyncTableRowService;
+import com.sap.service.BatchTableRowService;
+import com.sap.service.SanitizationService;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AsyncTableRowService Unit Tests")
+class AsyncTableRowServiceTest {
+
+    @Mock
+    private BatchTableRowService batchService;
+
+    private final JobRegistry jobRegistry = new JobRegistry(100, 60);
+
+    private AsyncTableRowService asyncTableRowService;
+
+    @BeforeEach
+    void setUp() {
+        asyncTableRowService = new AsyncTableRowService();
+        ReflectionTestUtils.setField(asyncTableRowService, "batchService", batchService);
+        ReflectionTestUtils.setField(asyncTableRowService, "sanitizationService", new SanitizationService());
+        ReflectionTestUtils.setField(asyncTableRowService, "jobRegistry", jobRegistry);
+        ReflectionTestUtils.setField(asyncTableRowService, "bulkPool", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(asyncTableRowService, "bulkPartitionSize", 2);
+    }
+
+    @Test
+    @DisplayName("Should report every partition and keep the ones that succeeded")
+    void shouldReportPartitions() {
+        AtomicLong ids = new AtomicLong();
+        when(batchService.saveBatch(anyList())).thenAnswer(invocation -> {
+            List<TableRow> rows = invocation.getArgument(0);
+            if (rows.stream().anyMatch(row -> row.getTypeFreeText().equals("Row 3"))) {
+                throw new IllegalStateException("constraint violated");
+            }
+            rows.forEach(row -> row.setId(ids.incrementAndGet()));
+            return rows;
+        });
+        List<CreateTableRowRequest> requests = IntStream.range(0, 5).mapToObj(i -> {
+            CreateTableRowRequest request = new CreateTableRowRequest();
+            request.setTypeNumber(i + 1);
+            request.setTypeSelector("A");
+            request.setTypeFreeText("Row " + i);
+            return request;
+        }).toList();
+        Job job = jobRegistry.create("bulk-create");
+
+        asyncTableRowService.createBulkParallel(requests, job);
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(job.getError()).isEqualTo("1 of 3 partitions failed");
+        assertThat(job.getProcessed()).isEqualTo(3);
+
+        Map<?, ?> report = (Map<?, ?>) job.getResult();
+        assertThat((long[]) report.get("ids")).containsExactly(1, 2, 0, 0, 3);
+        assertThat(report.get("partitions"))
+                .asInstanceOf(InstanceOfAssertFactories.list(AsyncTableRowService.PartitionResult.class))
+                .containsExactly(
+                        new AsyncTableRowService.PartitionResult(0, 0, 2, JobStatus.COMPLETED, null),
+                        new AsyncTableRowService.PartitionResult(1, 2, 4, JobStatus.FAILED, "constraint violated"),
+                        new AsyncTableRowService.PartitionResult(2, 4, 5, JobStatus.COMPLETED, null));
+    }
+}
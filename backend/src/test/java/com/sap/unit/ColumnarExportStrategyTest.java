@@ -0,0 +1,143 @@
+package com.sap.unit;
+
+import com.sap.entity.TableRow;
+import com.sap.export.ColumnarExportStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ColumnarExportStrategy Unit Tests")
+class ColumnarExportStrategyTest {
+
+    private ColumnarExportStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        strategy = new ColumnarExportStrategy();
+    }
+
+    @Test
+    @DisplayName("Should write typed columns that decode back to the rows")
+    void shouldRoundTripColumns() throws Exception {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6_000);
+        List<TableRow> rows = List.of(
+                row(10L, 7, "A", "first, \"quoted\"", createdAt),
+                row(11L, 42, "B", null, null),
+                row(15L, 2147483647, "A", "ünïcødé", createdAt));
+
+        ByteArrayInputStream in = new ByteArrayInputStream(export(rows.stream()));
+        DataInputStream data = new DataInputStream(in);
+
+        assertThat(new String(data.readNBytes(6), StandardCharsets.US_ASCII)).isEqualTo("TRCOL1");
+        assertThat(data.readInt()).isEqualTo(3);
+
+        DataInputStream ids = column(data);
+        long id = 0;
+        List<Long> decodedIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            id += zigZag(ids);
+            decodedIds.add(id);
+        }
+        assertThat(decodedIds).containsExactly(10L, 11L, 15L);
+
+        DataInputStream numbers = column(data);
+        assertThat(List.of(zigZag(numbers), zigZag(numbers), zigZag(numbers)))
+                .containsExactly(7L, 42L, 2147483647L);
+
+        DataInputStream selectors = column(data);
+        assertThat(varLong(selectors)).isEqualTo(2);
+        assertThat(utf8(selectors, (int) varLong(selectors))).isEqualTo("A");
+        assertThat(utf8(selectors, (int) varLong(selectors))).isEqualTo("B");
+        assertThat(List.of(varLong(selectors), varLong(selectors), varLong(selectors)))
+                .containsExactly(1L, 2L, 1L);
+
+        DataInputStream timestamps = column(data);
+        long micros = createdAt.toEpochSecond(java.time.ZoneOffset.UTC) * 1_000_000L + 6;
+        assertThat(List.of(timestamps.readLong(), timestamps.readLong(), timestamps.readLong()))
+                .containsExactly(micros, Long.MIN_VALUE, micros);
+
+        DataInputStream texts = column(data);
+        assertThat(utf8(texts, (int) varLong(texts) - 1)).isEqualTo("first, \"quoted\"");
+        assertThat(varLong(texts)).isZero();
+        assertThat(utf8(texts, (int) varLong(texts) - 1)).isEqualTo("ünïcødé");
+
+        assertThat(data.readInt()).isZero();
+        assertThat(in.available()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should split large exports into row groups")
+    void shouldSplitIntoRowGroups() throws Exception {
+        int total = ColumnarExportStrategy.ROW_GROUP_SIZE + 10;
+        Stream<TableRow> rows = IntStream.rangeClosed(1, total)
+                .mapToObj(i -> row((long) i, i, "S" + (i % 3), "Text " + i, LocalDateTime.now()));
+
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(export(rows)));
+        data.readNBytes(6);
+
+        List<Integer> groupSizes = new ArrayList<>();
+        int rowCount;
+        while ((rowCount = data.readInt()) != 0) {
+            groupSizes.add(rowCount);
+            for (int column = 0; column < 5; column++) {
+                data.skipNBytes(data.readInt());
+            }
+        }
+
+        assertThat(groupSizes).containsExactly(ColumnarExportStrategy.ROW_GROUP_SIZE, 10);
+    }
+
+    private byte[] export(Stream<TableRow> rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        strategy.export(rows, out);
+        return out.toByteArray();
+    }
+
+    private static TableRow row(Long id, int typeNumber, String selector, String text, LocalDateTime createdAt) {
+        return TableRow.builder()
+                .id(id)
+                .typeNumber(typeNumber)
+                .typeSelector(selector)
+                .typeFreeText(text)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static DataInputStream column(DataInputStream data) throws IOException {
+        return new DataInputStream(new ByteArrayInputStream(data.readNBytes(data.readInt())));
+    }
+
+    private static long varLong(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static long zigZag(DataInputStream in) throws IOException {
+        long value = varLong(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static String utf8(DataInputStream in, int length) throws IOException {
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,94 @@
+package com.sap.unit;
+
+import com.sap.dto.CreateTableRowRequest;
+import com.sap.entity.TableRow;
+import com.sap.export.CsvExportStrategy;
+import com.sap.ingest.CsvRowSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CsvRowSource Unit Tests")
+class CsvRowSourceTest {
+
+    @Test
+    @DisplayName("Should parse quoted fields with commas, quotes and line breaks")
+    void shouldParseQuotedFields() throws IOException {
+        CsvRowSource source = source("typeNumber,typeSelector,typeFreeText\r\n"
+                + "1,A,plain\r\n"
+                + "\r\n"
+                + "2,B,\"a, \"\"quoted\"\"\nvalue\"\r\n"
+                + "3,C,last");
+
+        List<CreateTableRowRequest> rows = readAll(source);
+
+        assertThat(rows).extracting(CreateTableRowRequest::getTypeNumber).containsExactly(1, 2, 3);
+        assertThat(rows).extracting(CreateTableRowRequest::getTypeSelector).containsExactly("A", "B", "C");
+        assertThat(rows).extracting(CreateTableRowRequest::getTypeFreeText)
+                .containsExactly("plain", "a, \"quoted\"\nvalue", "last");
+    }
+
+    @Test
+    @DisplayName("Should import the output of the CSV export")
+    void shouldReadExportOutput() throws IOException {
+        List<TableRow> exported = List.of(
+                TableRow.builder().id(1L).typeNumber(7).typeSelector("A").typeFreeText("Text, 1")
+                        .createdAt(LocalDateTime.of(2024, 1, 2, 3, 4)).build(),
+                TableRow.builder().id(2L).typeNumber(8).typeSelector("B").typeFreeText("say \"hi\"")
+                        .createdAt(LocalDateTime.of(2024, 1, 2, 3, 5)).build());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new CsvExportStrategy().export(exported.stream(), out);
+
+        List<CreateTableRowRequest> rows = readAll(
+                new CsvRowSource(new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8));
+
+        assertThat(rows).extracting(CreateTableRowRequest::getTypeNumber).containsExactly(7, 8);
+        assertThat(rows).extracting(CreateTableRowRequest::getTypeFreeText).containsExactly("Text, 1", "say \"hi\"");
+    }
+
+    @Test
+    @DisplayName("Should report the line on which a bad record starts")
+    void shouldReportLineOfBadRecord() throws IOException {
+        CsvRowSource source = source("typeNumber,typeSelector,typeFreeText\n"
+                + "1,A,\"two\nlines\"\n"
+                + "x,B,text\n");
+
+        assertThat(source.next()).isNotNull();
+        assertThat(source.getLine()).isEqualTo(2);
+        assertThatThrownBy(source::next)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Line 4: Type Number is not a number: x");
+    }
+
+    @Test
+    @DisplayName("Should reject a header without the row columns and an unterminated quote")
+    void shouldRejectUnknownHeader() {
+        assertThatThrownBy(() -> source("a,b,c\n1,2,3\n"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> source("typeNumber,typeSelector,typeFreeText\n1,A,\"open").next())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CsvRowSource source(String csv) throws IOException {
+        return new CsvRowSource(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+    }
+
+    private static List<CreateTableRowRequest> readAll(CsvRowSource source) throws IOException {
+        List<CreateTableRowRequest> rows = new ArrayList<>();
+        CreateTableRowRequest row;
+        while ((row = source.next()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
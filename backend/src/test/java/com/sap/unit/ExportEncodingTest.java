@@ -0,0 +1,89 @@
+package com.sap.unit;
+
+import com.sap.export.ExportEncoding;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ExportEncoding Unit Tests")
+class ExportEncodingTest {
+
+    @ParameterizedTest
+    @DisplayName("Should negotiate encoding from Accept-Encoding")
+    @CsvSource(delimiter = '|', value = {
+        "gzip, deflate, br     | GZIP",
+        "deflate               | DEFLATE",
+        "gzip;q=0.5, deflate   | DEFLATE",
+        "br                    | IDENTITY",
+        "*                     | GZIP",
+        "gzip;q=0, *;q=0       | IDENTITY"
+    })
+    void shouldNegotiateFromAcceptEncoding(String acceptEncoding, ExportEncoding expected) {
+        assertThat(ExportEncoding.negotiate(null, acceptEncoding)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should prefer explicit compression parameter over Accept-Encoding")
+    void shouldPreferCompressionParameter() {
+        assertThat(ExportEncoding.negotiate("deflate", "gzip")).isEqualTo(ExportEncoding.DEFLATE);
+        assertThat(ExportEncoding.negotiate("none", "gzip")).isEqualTo(ExportEncoding.IDENTITY);
+        assertThat(ExportEncoding.negotiate(null, null)).isEqualTo(ExportEncoding.IDENTITY);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown compression parameter")
+    void shouldRejectUnknownCompression() {
+        assertThatThrownBy(() -> ExportEncoding.negotiate("lzma", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should produce streams that round-trip")
+    void shouldRoundTrip() throws Exception {
+        byte[] payload = "ID,Type Number\n1,2\n".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        OutputStream gzipEncoder = ExportEncoding.GZIP.encode(gzip);
+        gzipEncoder.write(payload);
+        ExportEncoding.finish(gzipEncoder);
+
+        ByteArrayOutputStream deflate = new ByteArrayOutputStream();
+        OutputStream deflateEncoder = ExportEncoding.DEFLATE.encode(deflate);
+        deflateEncoder.write(payload);
+        ExportEncoding.finish(deflateEncoder);
+
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(gzip.toByteArray())).readAllBytes())
+                .isEqualTo(payload);
+        assertThat(new InflaterInputStream(new ByteArrayInputStream(deflate.toByteArray())).readAllBytes())
+                .isEqualTo(payload);
+        assertThat(gzip.size()).isLessThan(payload.length);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should release the compressor of an encoder that is not finished")
+    @CsvSource({"GZIP", "DEFLATE"})
+    void shouldReleaseAbortedEncoder(ExportEncoding encoding) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        OutputStream encoder = encoding.encode(out);
+        encoder.write(new byte[128 * 1024]);
+        int written = out.size();
+
+        ExportEncoding.abort(encoder);
+        ExportEncoding.abort(encoder);
+
+        assertThat(out.size()).isEqualTo(written);
+        assertThatThrownBy(() -> encoder.write(new byte[128 * 1024])).isInstanceOf(NullPointerException.class);
+        ExportEncoding.abort(ExportEncoding.IDENTITY.encode(out));
+    }
+}
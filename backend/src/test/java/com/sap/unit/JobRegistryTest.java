@@ -0,0 +1,54 @@
+package com.sap.unit;
+
+import com.sap.job.Job;
+import com.sap.job.JobRegistry;
+import com.sap.job.JobStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JobRegistry Unit Tests")
+class JobRegistryTest {
+
+    @Test
+    @DisplayName("Should keep running jobs however much finished results weigh")
+    void shouldNotEvictRunningJobs() {
+        JobRegistry registry = new JobRegistry(1, 60);
+        Job running = registry.create("excel-export");
+        running.start(10);
+        AtomicBoolean cleanedUp = new AtomicBoolean();
+        running.onCleanup(() -> cleanedUp.set(true));
+
+        for (int i = 0; i < 50; i++) {
+            Job bulk = registry.create("bulk-create");
+            bulk.complete(Map.of("ids", new long[100_000]));
+            registry.update(bulk);
+        }
+
+        assertThat(registry.find(running.getId())).containsSame(running);
+        assertThat(cleanedUp).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep a job findable while it moves from running to finished")
+    void shouldRetainFinishedJobs() {
+        JobRegistry registry = new JobRegistry(64, 60);
+        Job job = registry.create("bulk-create");
+        job.start(1);
+
+        // Not finished yet, so it stays active
+        registry.update(job);
+        assertThat(registry.find(job.getId())).containsSame(job);
+
+        job.complete(Map.of("ids", new long[] {1}));
+        registry.update(job);
+
+        assertThat(registry.find(job.getId())).hasValueSatisfying(found ->
+                assertThat(found.getStatus()).isEqualTo(JobStatus.COMPLETED));
+        assertThat(registry.find("unknown")).isEmpty();
+    }
+}
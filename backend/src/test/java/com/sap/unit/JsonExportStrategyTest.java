@@ -0,0 +1,110 @@
+package com.sap.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sap.entity.TableRow;
+import com.sap.export.JsonExportStrategy;
+import com.sap.export.NdjsonExportStrategy;
+import com.sap.export.RowEncoder;
+import com.sap.export.TableRowJsonWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JsonExportStrategy Unit Tests")
+class JsonExportStrategyTest {
+
+    // Same settings Spring Boot applies to the application's ObjectMapper
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private JsonExportStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        strategy = new JsonExportStrategy();
+    }
+
+    @Test
+    @DisplayName("Should encode row callbacks exactly like serializing the entities")
+    void shouldMatchEntitySerialization() throws Exception {
+        List<TableRow> rows = List.of(
+                TableRow.builder().id(1L).typeNumber(7).typeSelector("A")
+                        .typeFreeText("say \"hi\" ünïcødé").createdAt(LocalDateTime.of(2024, 1, 2, 3, 4)).build(),
+                TableRow.builder().id(2L).typeNumber(42).typeSelector("B")
+                        .typeFreeText("second").createdAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 120_000)).build(),
+                TableRow.builder().id(3L).typeNumber(1).typeSelector("C").build(),
+                TableRow.builder().id(4L).typeNumber(2).typeSelector("D")
+                        .typeFreeText("tab\t back\\slash \u0001 / \uD83D\uDE00")
+                        .createdAt(LocalDateTime.of(2024, 12, 31, 23, 59, 59, 999_999_999)).build());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        strategy.writeHeader(out);
+        RowEncoder encoder = strategy.openRows(out);
+        for (TableRow row : rows) {
+            encoder.row(row.getId(), row.getTypeNumber(), row.getTypeSelector(), row.getTypeFreeText(), row.getCreatedAt());
+        }
+        encoder.finish();
+        strategy.writeFooter(out);
+
+        List<String> expected = new ArrayList<>();
+        for (TableRow row : rows) {
+            expected.add(objectMapper.writeValueAsString(row));
+        }
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[" + String.join(",", expected) + "]");
+    }
+
+    @Test
+    @DisplayName("Should write one row object per line for NDJSON")
+    void shouldWriteLineDelimitedRows() throws Exception {
+        JsonExportStrategy ndjson = new NdjsonExportStrategy();
+        TableRow first = TableRow.builder().id(1L).typeNumber(7).typeSelector("A")
+                .typeFreeText("line\nbreak").createdAt(LocalDateTime.of(2024, 1, 2, 3, 4)).build();
+        TableRow second = TableRow.builder().id(2L).typeNumber(8).typeSelector("B").build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ndjson.export(Stream.of(first, second), out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                objectMapper.writeValueAsString(first) + "\n" + objectMapper.writeValueAsString(second) + "\n");
+    }
+
+    @Test
+    @DisplayName("Should write a GET /rows page exactly like serializing the response map")
+    void shouldMatchPageSerialization() throws Exception {
+        List<TableRow> rows = List.of(
+                TableRow.builder().id(5L).typeNumber(3).typeSelector("A")
+                        .typeFreeText("x").createdAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6_000)).build(),
+                TableRow.builder().id(4L).typeNumber(2).typeSelector("B").build());
+
+        for (List<TableRow> content : List.of(rows, List.<TableRow>of())) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("data", content);
+            response.put("totalCount", 1234L);
+            response.put("page", 2);
+            response.put("size", 50);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            TableRowJsonWriter.writePage(out, content, 1234L, 2, 50);
+
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(response));
+
+            ByteArrayOutputStream split = new ByteArrayOutputStream();
+            TableRowJsonWriter.writePageHead(split, content, 2, 50);
+            TableRowJsonWriter.writeTotalCount(split, 1234L);
+            assertThat(split.toByteArray()).isEqualTo(out.toByteArray());
+        }
+    }
+}
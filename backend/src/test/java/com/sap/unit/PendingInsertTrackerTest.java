@@ -0,0 +1,64 @@
+package com.sap.unit;
+
+import com.sap.entity.TableRow;
+import com.sap.service.PendingInsertTracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PendingInsertTracker Unit Tests")
+class PendingInsertTrackerTest {
+
+    private final PendingInsertTracker tracker = new PendingInsertTracker();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should hold the delta cursor behind a row that commits after a newer one")
+    void shouldHoldBoundsBehindUncommittedInsert() {
+        tracker.afterInsert(row(10));
+        LocalDateTime beforeSlow = LocalDateTime.now();
+
+        // The slow transaction gets id 11 and stays open while id 12 commits
+        TransactionSynchronizationManager.initSynchronization();
+        tracker.beforeInsert();
+        tracker.afterInsert(row(11));
+        tracker.afterInsert(row(12));
+
+        assertThat(tracker.safeMaxId(12)).isEqualTo(10);
+        assertThat(tracker.safeMaxId(9)).isEqualTo(9);
+        assertThat(tracker.safeMaxCreatedAt(beforeSlow.plusHours(1))).isBefore(beforeSlow.plusSeconds(1));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(tracker.safeMaxId(12)).isEqualTo(12);
+        assertThat(tracker.safeMaxCreatedAt(beforeSlow.plusHours(1))).isEqualTo(beforeSlow.plusHours(1));
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not hold anything back for inserts outside a transaction")
+    void shouldIgnoreInsertsWithoutTransaction() {
+        tracker.beforeInsert();
+        tracker.afterInsert(row(5));
+
+        assertThat(tracker.safeMaxId(5)).isEqualTo(5);
+    }
+
+    private static TableRow row(long id) {
+        return TableRow.builder().id(id).typeNumber(1).typeSelector("A").typeFreeText("Text").build();
+    }
+}
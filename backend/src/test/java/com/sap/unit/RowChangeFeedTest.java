@@ -0,0 +1,94 @@
+package com.sap.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sap.entity.TableRow;
+import com.sap.event.TableRowChangedEvent;
+import com.sap.feed.RowChange;
+import com.sap.feed.RowChangeFeed;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RowChangeFeed Unit Tests")
+class RowChangeFeedTest {
+
+    private RowChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new RowChangeFeed(new ObjectMapper(), 5, 2, 1, Duration.ofSeconds(15));
+    }
+
+    @Test
+    @DisplayName("Should number changes and resume after a sequence number")
+    void shouldResumeAfterSequence() throws Exception {
+        publish(TableRowChangedEvent.Type.CREATED, 1);
+        publish(TableRowChangedEvent.Type.CREATED, 2);
+        publish(TableRowChangedEvent.Type.DELETED, 1);
+
+        List<RowChange> changes = feed.awaitAfter(1, Duration.ZERO);
+
+        assertThat(changes).hasSize(2);
+        assertThat(changes.get(0).seq()).isEqualTo(2);
+        assertThat(changes.get(1).type()).isEqualTo(RowChange.DELETED);
+        assertThat(changes.get(1).row().getId()).isEqualTo(1L);
+        assertThat(feed.awaitAfter(3, Duration.ZERO)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should answer with a resync when the cursor left the history or is ahead of it")
+    void shouldResyncOutdatedCursor() throws Exception {
+        for (long id = 1; id <= 7; id++) {
+            publish(TableRowChangedEvent.Type.CREATED, id);
+        }
+
+        assertThat(feed.awaitAfter(2, Duration.ZERO)).hasSize(5);
+        List<RowChange> outdated = feed.awaitAfter(1, Duration.ZERO);
+        assertThat(outdated).hasSize(1);
+        assertThat(outdated.get(0).type()).isEqualTo(RowChange.RESYNC);
+        assertThat(outdated.get(0).seq()).isEqualTo(7);
+        assertThat(feed.awaitAfter(42, Duration.ZERO).get(0).type()).isEqualTo(RowChange.RESYNC);
+    }
+
+    @Test
+    @DisplayName("Should drop the buffer of a slow subscriber and tell it to resync")
+    void shouldResyncSlowSubscriber() throws Exception {
+        try (RowChangeFeed.Subscription subscription = feed.subscribe(null)) {
+            publish(TableRowChangedEvent.Type.CREATED, 1);
+            publish(TableRowChangedEvent.Type.CREATED, 2);
+            publish(TableRowChangedEvent.Type.CREATED, 3);
+
+            RowChange resync = subscription.poll(Duration.ZERO);
+            assertThat(resync.type()).isEqualTo(RowChange.RESYNC);
+            assertThat(resync.seq()).isEqualTo(3);
+            assertThat(subscription.poll(Duration.ZERO)).isNull();
+
+            publish(TableRowChangedEvent.Type.DELETED, 3);
+            assertThat(subscription.poll(Duration.ZERO).seq()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    @DisplayName("Should limit the number of streaming subscribers")
+    void shouldLimitSubscribers() {
+        RowChangeFeed.Subscription subscription = feed.subscribe(null);
+
+        assertThatThrownBy(() -> feed.subscribe(null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Too many change feed subscribers");
+
+        subscription.close();
+        feed.subscribe(null).close();
+    }
+
+    private void publish(TableRowChangedEvent.Type type, long id) {
+        TableRow row = TableRow.builder().id(id).typeNumber(1).typeSelector("A").typeFreeText("Text").build();
+        feed.onTableRowChanged(new TableRowChangedEvent(this, type, row));
+    }
+}
@@ -0,0 +1,124 @@
+package com.sap.unit;
+
+import com.sap.dto.RowCursor;
+import com.sap.dto.RowFilter;
+import com.sap.entity.TableRow;
+import com.sap.readmodel.RowColumns;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RowColumns Unit Tests")
+class RowColumnsTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 3, 1, 12, 0, 0, 123_456_000);
+
+    private RowColumns columns;
+
+    @BeforeEach
+    void setUp() {
+        columns = new RowColumns();
+        // Out of id order, and createdAt not monotonic in id
+        columns.put(3, 30, "B", "third", T0.plusMinutes(1));
+        columns.put(1, 10, "A", "first", T0.plusMinutes(2));
+        columns.put(2, 20, "A", null, T0);
+        columns.put(4, 40, "A", "fourth", T0.plusMinutes(3));
+    }
+
+    @Test
+    @DisplayName("Should return rows in id order with all columns restored")
+    void shouldRestoreRows() {
+        List<TableRow> rows = columns.page(0, 10);
+
+        assertThat(ids(rows)).containsExactly(1L, 2L, 3L, 4L);
+        TableRow first = rows.get(0);
+        assertThat(first.getTypeNumber()).isEqualTo(10);
+        assertThat(first.getTypeSelector()).isEqualTo("A");
+        assertThat(first.getTypeFreeText()).isEqualTo("first");
+        assertThat(first.getCreatedAt()).isEqualTo(T0.plusMinutes(2));
+        assertThat(rows.get(1).getTypeFreeText()).isNull();
+        assertThat(ids(columns.page(2, 10))).containsExactly(3L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should filter and page by id like the database query")
+    void shouldQueryById() {
+        RowFilter selectorA = new RowFilter("A", 15, null, null, null);
+
+        List<TableRow> first = columns.query(selectorA, RowCursor.Sort.ID, null, 1);
+        assertThat(ids(first)).containsExactly(2L);
+
+        RowCursor after = RowCursor.after(RowCursor.Sort.ID, first.get(0));
+        assertThat(ids(columns.query(selectorA, RowCursor.Sort.ID, after, 10))).containsExactly(4L);
+        assertThat(columns.query(new RowFilter("Z", null, null, null, null), RowCursor.Sort.ID, null, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should order by createdAt then id and apply the createdAt window")
+    void shouldQueryByCreatedAt() {
+        List<TableRow> first = columns.query(RowFilter.ANY, RowCursor.Sort.CREATED_AT, null, 2);
+        assertThat(ids(first)).containsExactly(2L, 3L);
+
+        RowCursor after = RowCursor.after(RowCursor.Sort.CREATED_AT, first.get(1));
+        assertThat(ids(columns.query(RowFilter.ANY, RowCursor.Sort.CREATED_AT, after, 10))).containsExactly(1L, 4L);
+
+        RowFilter window = new RowFilter(null, null, null, T0.plusMinutes(1), T0.plusMinutes(3));
+        assertThat(ids(columns.query(window, RowCursor.Sort.CREATED_AT, null, 10))).containsExactly(3L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should replace rows with the same id and drop removed rows")
+    void shouldReplaceAndRemove() {
+        columns.put(2, 21, "C", "second", T0);
+        assertThat(columns.remove(3)).isTrue();
+        assertThat(columns.remove(3)).isFalse();
+
+        List<TableRow> rows = columns.page(0, 10);
+        assertThat(ids(rows)).containsExactly(1L, 2L, 4L);
+        assertThat(rows.get(1).getTypeSelector()).isEqualTo("C");
+        assertThat(rows.get(1).getTypeFreeText()).isEqualTo("second");
+        assertThat(rows.get(2).getTypeFreeText()).isEqualTo("fourth");
+        assertThat(columns.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep texts intact when removed rows are compacted away")
+    void shouldCompactTexts() {
+        for (long id = 10; id < 2010; id++) {
+            columns.put(id, 1, "A", ("row " + id + " ").repeat(10), T0);
+        }
+        for (long id = 10; id < 1910; id++) {
+            columns.remove(id);
+        }
+
+        List<TableRow> rows = columns.page(4, 100);
+        assertThat(rows).hasSize(100);
+        assertThat(rows.get(0).getTypeFreeText()).isEqualTo("row 1910 ".repeat(10));
+        assertThat(rows.get(99).getTypeFreeText()).isEqualTo("row 2009 ".repeat(10));
+        assertThat(columns.page(0, 1).get(0).getTypeFreeText()).isEqualTo("first");
+    }
+
+    @Test
+    @DisplayName("Should keep createdAt at the database's microsecond precision")
+    void shouldTruncateCreatedAtToMicros() {
+        // An event carries the entity's nanoseconds; the same row read back has microseconds
+        columns.put(5, 50, "A", "fifth", T0.plusNanos(999));
+        columns.put(6, 60, "A", "sixth", T0);
+
+        assertThat(columns.page(4, 10).get(0).getCreatedAt()).isEqualTo(T0);
+        List<TableRow> byCreatedAt = columns.query(RowFilter.ANY, RowCursor.Sort.CREATED_AT, null, 3);
+        assertThat(ids(byCreatedAt)).containsExactly(2L, 5L, 6L);
+
+        RowCursor after = RowCursor.after(RowCursor.Sort.CREATED_AT, byCreatedAt.get(0));
+        assertThat(ids(columns.query(RowFilter.ANY, RowCursor.Sort.CREATED_AT, after, 2))).containsExactly(5L, 6L);
+    }
+
+    private static List<Long> ids(List<TableRow> rows) {
+        return rows.stream().map(TableRow::getId).toList();
+    }
+}
@@ -0,0 +1,68 @@
+package com.sap.unit;
+
+import com.sap.entity.TableRow;
+import com.sap.event.TableRowChangedEvent;
+import com.sap.repository.TableRowRepository;
+import com.sap.service.RowCountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RowCountService Unit Tests")
+class RowCountServiceTest {
+
+    @Mock
+    private TableRowRepository repository;
+
+    private RowCountService rowCount;
+
+    @BeforeEach
+    void setUp() {
+        rowCount = new RowCountService();
+        ReflectionTestUtils.setField(rowCount, "repository", repository);
+    }
+
+    @Test
+    @DisplayName("Should count once at startup and then follow committed changes")
+    void shouldFollowChangesAfterSeeding() {
+        when(repository.count()).thenReturn(10L);
+        rowCount.seed();
+
+        rowCount.onTableRowChanged(event(TableRowChangedEvent.Type.CREATED));
+        rowCount.onTableRowChanged(event(TableRowChangedEvent.Type.CREATED));
+        rowCount.onTableRowChanged(event(TableRowChangedEvent.Type.DELETED));
+
+        assertThat(rowCount.getCount()).isEqualTo(11L);
+        verify(repository, times(1)).count();
+    }
+
+    @Test
+    @DisplayName("Should keep changes committed while the startup count runs")
+    void shouldKeepChangesMadeDuringSeeding() {
+        rowCount.onTableRowChanged(event(TableRowChangedEvent.Type.CREATED));
+        when(repository.count()).thenAnswer(invocation -> {
+            rowCount.onTableRowChanged(event(TableRowChangedEvent.Type.CREATED));
+            rowCount.onTableRowChanged(event(TableRowChangedEvent.Type.CREATED));
+            rowCount.onTableRowChanged(event(TableRowChangedEvent.Type.DELETED));
+            return 10L;
+        });
+
+        rowCount.seed();
+
+        assertThat(rowCount.getCount()).isEqualTo(11L);
+        rowCount.onTableRowChanged(event(TableRowChangedEvent.Type.CREATED));
+        assertThat(rowCount.getCount()).isEqualTo(12L);
+    }
+
+    private TableRowChangedEvent event(TableRowChangedEvent.Type type) {
+        return new TableRowChangedEvent(this, type, new TableRow());
+    }
+}
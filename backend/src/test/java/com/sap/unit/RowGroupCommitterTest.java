@@ -0,0 +1,152 @@
+package com.sap.unit;
+
+import com.sap.entity.TableRow;
+import com.sap.service.BatchTableRowService;
+import com.sap.service.RowGroupCommitter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RowGroupCommitter Unit Tests")
+class RowGroupCommitterTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    private final RecordingBatchService batchService = new RecordingBatchService();
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should write rows queued behind a running batch as one group")
+    void shouldGroupConcurrentSaves() throws Exception {
+        RowGroupCommitter committer = new RowGroupCommitter(batchService, Duration.ZERO, 50, TIMEOUT);
+        batchService.blockFirstBatch();
+
+        CompletableFuture<TableRow> first = CompletableFuture.supplyAsync(() -> committer.save(row("first")), callers);
+        batchService.firstBatchStarted.await(5, TimeUnit.SECONDS);
+        List<CompletableFuture<TableRow>> queued = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String text = "queued " + i;
+            queued.add(CompletableFuture.supplyAsync(() -> committer.save(row(text)), callers));
+        }
+        // Let the callers enqueue behind the running batch
+        Thread.sleep(200);
+        batchService.releaseFirstBatch.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getId()).isNotNull();
+        for (CompletableFuture<TableRow> future : queued) {
+            assertThat(future.get(5, TimeUnit.SECONDS).getId()).isNotNull();
+        }
+        assertThat(batchService.batchSizes).containsExactly(1, 5);
+        committer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should fail only the caller whose row cannot be saved")
+    void shouldIsolateFailingRow() throws Exception {
+        RowGroupCommitter committer = new RowGroupCommitter(batchService, Duration.ofMillis(200), 2, TIMEOUT);
+
+        CompletableFuture<TableRow> good = CompletableFuture.supplyAsync(() -> committer.save(row("good")), callers);
+        CompletableFuture<TableRow> bad = CompletableFuture.supplyAsync(() -> committer.save(row("bad")), callers);
+
+        assertThat(good.get(5, TimeUnit.SECONDS).getId()).isNotNull();
+        assertThatThrownBy(() -> bad.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+        committer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should fail the batch on an Error and keep writing later groups")
+    void shouldSurviveWriterError() throws Exception {
+        RowGroupCommitter committer = new RowGroupCommitter(batchService, Duration.ZERO, 50, TIMEOUT);
+
+        CompletableFuture<TableRow> fatal = CompletableFuture.supplyAsync(() -> committer.save(row("fatal")), callers);
+        assertThatThrownBy(() -> fatal.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("writer crashed");
+
+        CompletableFuture<TableRow> next = CompletableFuture.supplyAsync(() -> committer.save(row("next")), callers);
+        assertThat(next.get(5, TimeUnit.SECONDS).getId()).isNotNull();
+        committer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should give up waiting after the timeout")
+    void shouldTimeOut() throws Exception {
+        RowGroupCommitter committer = new RowGroupCommitter(batchService, Duration.ZERO, 50, Duration.ofMillis(100));
+        batchService.blockFirstBatch();
+
+        assertThatThrownBy(() -> committer.save(row("slow")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("may still be saved");
+        batchService.releaseFirstBatch.countDown();
+        committer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should reject saves after shutdown")
+    void shouldRejectAfterShutdown() {
+        RowGroupCommitter committer = new RowGroupCommitter(batchService, Duration.ZERO, 50, TIMEOUT);
+        committer.shutdown();
+
+        assertThatThrownBy(() -> committer.save(row("late"))).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static TableRow row(String text) {
+        return TableRow.builder().typeNumber(1).typeSelector("A").typeFreeText(text).build();
+    }
+
+    private static class RecordingBatchService extends BatchTableRowService {
+
+        private final List<Integer> batchSizes = new ArrayList<>();
+        private final AtomicLong ids = new AtomicLong();
+        private final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        private final CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        private boolean blockFirst;
+
+        void blockFirstBatch() {
+            blockFirst = true;
+        }
+
+        @Override
+        public List<TableRow> saveBatch(List<TableRow> rows) {
+            synchronized (this) {
+                batchSizes.add(rows.size());
+            }
+            if (blockFirst) {
+                blockFirst = false;
+                firstBatchStarted.countDown();
+                try {
+                    releaseFirstBatch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (rows.stream().anyMatch(row -> "fatal".equals(row.getTypeFreeText()))) {
+                throw new Error("writer crashed");
+            }
+            if (rows.stream().anyMatch(row -> "bad".equals(row.getTypeFreeText()))) {
+                throw new IllegalArgumentException("bad row");
+            }
+            rows.forEach(row -> row.setId(ids.incrementAndGet()));
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.sap.unit;
+
+import com.sap.dto.RowCursor;
+import com.sap.entity.TableRow;
+import com.sap.event.TableRowChangedEvent;
+import com.sap.service.RowPageCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RowPageCache Unit Tests")
+class RowPageCacheTest {
+
+    private RowPageCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RowPageCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should keep full pages before an appended row and drop the open tail page")
+    void shouldOnlyDropTailOnInsert() {
+        offsetPage(0, rows(1, 10));
+        offsetPage(1, rows(11, 15));
+
+        cache.onTableRowChanged(event(TableRowChangedEvent.Type.CREATED, 16));
+
+        offsetPage(0, rows(1, 10));
+        offsetPage(1, rows(11, 16));
+        assertThat(loads.get()).isEqualTo(3);
+        assertThat(cache.getHitRatio()).isEqualTo(0.25);
+    }
+
+    @Test
+    @DisplayName("Should drop offset pages at or after a deleted row")
+    void shouldDropShiftedPagesOnDelete() {
+        offsetPage(0, rows(1, 10));
+        offsetPage(1, rows(11, 20));
+        offsetPage(2, rows(21, 30));
+
+        cache.onTableRowChanged(event(TableRowChangedEvent.Type.DELETED, 15));
+
+        offsetPage(0, rows(1, 10));
+        offsetPage(1, rows(11, 20));
+        offsetPage(2, rows(21, 30));
+        assertThat(loads.get()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should drop keyset pages only when the changed row falls in their range")
+    void shouldDropKeysetPagesInRange() {
+        RowCursor afterTen = RowCursor.after(RowCursor.Sort.ID, row(10));
+        keysetPage(null, rows(1, 10), true);
+        keysetPage(afterTen, rows(11, 20), true);
+
+        cache.onTableRowChanged(event(TableRowChangedEvent.Type.DELETED, 5));
+
+        keysetPage(null, rows(1, 10), true);
+        keysetPage(afterTen, rows(11, 20), true);
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should invalidate once with the range of a transaction's rows after it commits")
+    void shouldInvalidateTransactionOnCommit() {
+        offsetPage(0, rows(1, 10));
+        offsetPage(1, rows(11, 15));
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            cache.onTableRowChanged(event(TableRowChangedEvent.Type.CREATED, 16));
+            cache.onTableRowChanged(event(TableRowChangedEvent.Type.CREATED, 17));
+
+            // Not committed yet
+            offsetPage(1, rows(11, 15));
+            assertThat(loads.get()).isEqualTo(2);
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertThat(synchronizations).hasSize(1);
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        offsetPage(0, rows(1, 10));
+        offsetPage(1, rows(11, 17));
+        assertThat(loads.get()).isEqualTo(3);
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should hand out a cached offset page without loading it")
+    void shouldPeekWithoutLoading() {
+        assertThat(cache.peekOffsetPage(0, 10)).isNull();
+
+        List<TableRow> rows = rows(1, 10);
+        offsetPage(0, rows);
+        assertThat(cache.peekOffsetPage(0, 10)).isSameAs(rows);
+
+        cache.onTableRowChanged(event(TableRowChangedEvent.Type.DELETED, 5));
+        assertThat(cache.peekOffsetPage(0, 10)).isNull();
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    private void offsetPage(int page, List<TableRow> rows) {
+        cache.getOffsetPage(page, 10, () -> {
+            loads.incrementAndGet();
+            return rows;
+        });
+    }
+
+    private void keysetPage(RowCursor after, List<TableRow> rows, boolean hasNext) {
+        cache.getKeysetPage(RowCursor.Sort.ID, after, 10, () -> {
+            loads.incrementAndGet();
+            Slice<TableRow> slice = new SliceImpl<>(rows, PageRequest.ofSize(10), hasNext);
+            return slice;
+        });
+    }
+
+    private static List<TableRow> rows(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId).mapToObj(RowPageCacheTest::row).toList();
+    }
+
+    private static TableRow row(long id) {
+        return TableRow.builder().id(id).typeNumber(1).typeSelector("A").typeFreeText("Text").build();
+    }
+
+    private TableRowChangedEvent event(TableRowChangedEvent.Type type, long id) {
+        return new TableRowChangedEvent(this, type, row(id));
+    }
+}
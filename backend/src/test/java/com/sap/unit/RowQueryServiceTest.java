@@ -0,0 +1,84 @@
+package com.sap.unit;
+
+import com.sap.dto.RowCursor;
+import com.sap.dto.RowFilter;
+import com.sap.entity.TableRow;
+import com.sap.event.TableRowChangedEvent;
+import com.sap.repository.TableRowRepository;
+import com.sap.service.RowQueryService;
+import com.sap.service.RowReadModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RowQueryService Unit Tests")
+class RowQueryServiceTest {
+
+    private static final RowFilter SELECTOR_A = new RowFilter("A", null, null, null, null);
+
+    @Mock
+    private TableRowRepository repository;
+
+    @Mock
+    private RowReadModel readModel;
+
+    private RowQueryService queries;
+
+    @BeforeEach
+    void setUp() {
+        queries = new RowQueryService(100, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(queries, "repository", repository);
+        ReflectionTestUtils.setField(queries, "readModel", readModel);
+        when(readModel.isReady()).thenReturn(false);
+        when(repository.findSlice(any(), any(), anyInt())).thenAnswer(invocation ->
+                new SliceImpl<>(List.of(row(1, "A"), row(5, "A")), PageRequest.ofSize(2), true));
+    }
+
+    @Test
+    @DisplayName("Should keep results a write cannot change")
+    void shouldKeepUnaffectedResults() {
+        queries.query(SELECTOR_A, RowCursor.Sort.ID, null, 2);
+
+        // Another selector, and a row after a page that has a next one
+        queries.onTableRowChanged(event(TableRowChangedEvent.Type.CREATED, row(3, "B")));
+        queries.onTableRowChanged(event(TableRowChangedEvent.Type.CREATED, row(9, "A")));
+        queries.query(SELECTOR_A, RowCursor.Sort.ID, null, 2);
+
+        verify(repository, times(1)).findSlice(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should reload results a matching write falls into")
+    void shouldDropAffectedResults() {
+        queries.query(SELECTOR_A, RowCursor.Sort.ID, null, 2);
+
+        queries.onTableRowChanged(event(TableRowChangedEvent.Type.DELETED, row(5, "A")));
+        queries.query(SELECTOR_A, RowCursor.Sort.ID, null, 2);
+
+        verify(repository, times(2)).findSlice(any(), any(), anyInt());
+    }
+
+    private static TableRow row(long id, String selector) {
+        return TableRow.builder().id(id).typeNumber(1).typeSelector(selector).typeFreeText("Text").build();
+    }
+
+    private TableRowChangedEvent event(TableRowChangedEvent.Type type, TableRow row) {
+        return new TableRowChangedEvent(this, type, row);
+    }
+}
@@ -0,0 +1,83 @@
+package com.sap.unit;
+
+import com.sap.entity.TableRow;
+import com.sap.event.TableRowChangedEvent;
+import com.sap.export.RowEncoder;
+import com.sap.repository.TableRowJdbcReader;
+import com.sap.repository.TableRowRepository;
+import com.sap.service.RowSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RowSearchService Unit Tests")
+class RowSearchServiceTest {
+
+    @Mock
+    private TableRowRepository repository;
+
+    @Mock
+    private TableRowJdbcReader jdbcReader;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RowSearchService search;
+
+    @BeforeEach
+    void setUp() {
+        search = new RowSearchService();
+        ReflectionTestUtils.setField(search, "repository", repository);
+        ReflectionTestUtils.setField(search, "jdbcReader", jdbcReader);
+        ReflectionTestUtils.setField(search, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(search, "exportPool", ForkJoinPool.commonPool());
+        ReflectionTestUtils.setField(search, "chunkSize", 20_000L);
+    }
+
+    @Test
+    @DisplayName("Should keep changes committed while the index is rebuilt")
+    void shouldReplayChangesMadeDuringRebuild() throws Exception {
+        when(repository.findMinId()).thenReturn(1L);
+        when(repository.findMaxId()).thenReturn(2L);
+        when(jdbcReader.readByIdRange(eq(1L), eq(2L), any())).thenAnswer(invocation -> {
+            RowEncoder encoder = invocation.getArgument(2);
+            encoder.row(1, 1, "A", "alpha old", LocalDateTime.now());
+            // Committed after the scan read row 1 and before the rebuilt index is swapped in
+            search.onTableRowChanged(event(TableRowChangedEvent.Type.DELETED, 1, "alpha old"));
+            search.onTableRowChanged(event(TableRowChangedEvent.Type.CREATED, 3, "alpha fresh"));
+            search.onTableRowChanged(event(TableRowChangedEvent.Type.DELETED, 2, "beta"));
+            encoder.row(2, 1, "A", "beta", LocalDateTime.now());
+            return 2L;
+        });
+
+        search.rebuild();
+
+        assertThat(search.search("alpha", 0).totalMatches()).isEqualTo(1);
+        assertThat(search.search("old", 0).totalMatches()).isZero();
+        assertThat(search.search("fresh", 0).totalMatches()).isEqualTo(1);
+        assertThat(search.search("beta", 0).totalMatches()).isZero();
+
+        // Changes after the rebuild go to the new index
+        search.onTableRowChanged(event(TableRowChangedEvent.Type.CREATED, 4, "beta again"));
+        assertThat(search.search("beta", 0).totalMatches()).isEqualTo(1);
+    }
+
+    private TableRowChangedEvent event(TableRowChangedEvent.Type type, long id, String text) {
+        return new TableRowChangedEvent(this, type,
+                TableRow.builder().id(id).typeNumber(1).typeSelector("A").typeFreeText(text).build());
+    }
+}
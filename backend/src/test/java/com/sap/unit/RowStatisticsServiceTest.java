@@ -0,0 +1,106 @@
+package com.sap.unit;
+
+import com.sap.entity.TableRow;
+import com.sap.event.TableRowChangedEvent;
+import com.sap.repository.TableRowRepository;
+import com.sap.service.RowStatisticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RowStatisticsService Unit Tests")
+class RowStatisticsServiceTest {
+
+    @Mock
+    private TableRowRepository repository;
+
+    private RowStatisticsService statistics;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        statistics = new RowStatisticsService(repository, 24);
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the table and follow committed changes")
+    void shouldRebuildAndFollowChanges() {
+        when(repository.streamStatisticsColumns()).thenReturn(Stream.of(
+                new Object[]{1L, "A", 1, now},
+                new Object[]{2L, "A", 3, now.minusHours(1)},
+                new Object[]{3L, "B", 100, now.minusDays(5)}));
+        statistics.rebuild();
+
+        statistics.onTableRowChanged(event(TableRowChangedEvent.Type.CREATED, "B", 2, now));
+        statistics.onTableRowChanged(event(TableRowChangedEvent.Type.DELETED, "A", 3, now.minusHours(1)));
+
+        assertThat(statistics.getRowsBySelector()).isEqualTo(Map.of("A", 1L, "B", 2L));
+
+        List<Map<String, Object>> histogram = statistics.getTypeNumberHistogram();
+        assertThat(histogram).hasSize(3);
+        assertThat(histogram.get(0)).isEqualTo(Map.of("from", 1L, "to", 1L, "count", 1L));
+        assertThat(histogram.get(1)).isEqualTo(Map.of("from", 2L, "to", 3L, "count", 1L));
+        assertThat(histogram.get(2)).isEqualTo(Map.of("from", 64L, "to", 127L, "count", 1L));
+
+        List<Map<String, Object>> perHour = statistics.getRowsPerHour(2);
+        assertThat(perHour.get(0)).isEqualTo(Map.of("hour", now.truncatedTo(ChronoUnit.HOURS).minusHours(1), "count", 0L));
+        assertThat(perHour.get(1)).isEqualTo(Map.of("hour", now.truncatedTo(ChronoUnit.HOURS), "count", 2L));
+    }
+
+    @Test
+    @DisplayName("Should count changes committed during a rebuild exactly once")
+    void shouldReplayChangesMadeDuringRebuild() {
+        statistics.onTableRowChanged(event(TableRowChangedEvent.Type.CREATED, 1L, "A", 1, now));
+        when(repository.streamStatisticsColumns()).thenAnswer(invocation -> {
+            // Row 2 is committed before the scan reaches it, row 3 after; row 1 is deleted after
+            // the scan read it
+            statistics.onTableRowChanged(event(TableRowChangedEvent.Type.CREATED, 2L, "B", 2, now));
+            return Stream.<Object[]>of(new Object[]{1L, "A", 1, now}, new Object[]{2L, "B", 2, now})
+                    .onClose(() -> {
+                        statistics.onTableRowChanged(event(TableRowChangedEvent.Type.DELETED, 1L, "A", 1, now));
+                        statistics.onTableRowChanged(event(TableRowChangedEvent.Type.CREATED, 3L, "B", 4, now));
+                    });
+        });
+
+        statistics.rebuild();
+
+        assertThat(statistics.getRowsBySelector()).isEqualTo(Map.of("B", 2L));
+        assertThat(statistics.getTypeNumberHistogram()).containsExactly(
+                Map.of("from", 2L, "to", 3L, "count", 1L),
+                Map.of("from", 4L, "to", 7L, "count", 1L));
+        assertThat(statistics.getRowsPerHour(1).get(0)).containsEntry("count", 2L);
+
+        statistics.onTableRowChanged(event(TableRowChangedEvent.Type.DELETED, 2L, "B", 2, now));
+        assertThat(statistics.getRowsBySelector()).isEqualTo(Map.of("B", 1L));
+    }
+
+    private TableRowChangedEvent event(TableRowChangedEvent.Type type, String selector, int typeNumber,
+                                       LocalDateTime createdAt) {
+        return event(type, null, selector, typeNumber, createdAt);
+    }
+
+    private TableRowChangedEvent event(TableRowChangedEvent.Type type, Long id, String selector, int typeNumber,
+                                       LocalDateTime createdAt) {
+        TableRow row = TableRow.builder()
+                .id(id)
+                .typeSelector(selector)
+                .typeNumber(typeNumber)
+                .createdAt(createdAt)
+                .build();
+        return new TableRowChangedEvent(this, type, row);
+    }
+}
@@ -0,0 +1,76 @@
+package com.sap.unit;
+
+import com.sap.search.TextIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TextIndex Unit Tests")
+class TextIndexTest {
+
+    private TextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TextIndex();
+        index.add(1, "Invoice for Café order");
+        index.add(3, "invoices, archived");
+        index.add(2, "Order #42 shipped");
+    }
+
+    @Test
+    @DisplayName("Should normalize case and accents and split on punctuation")
+    void shouldNormalizeTokens() {
+        assertThat(TextIndex.tokenize("Crème BRÛLÉE, crème-42"))
+                .containsExactly("creme", "brulee", "42");
+    }
+
+    @Test
+    @DisplayName("Should return ids matching every term in ascending order")
+    void shouldIntersectTerms() {
+        assertThat(index.search("order")).containsExactly(1L, 2L);
+        assertThat(index.search("ORDER cafe")).containsExactly(1L);
+        assertThat(index.search("order missing")).isEmpty();
+        assertThat(index.search("  ")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should match words ending in * as prefixes")
+    void shouldMatchPrefixes() {
+        assertThat(index.search("invoice")).containsExactly(1L);
+        assertThat(index.search("invoice*")).containsExactly(1L, 3L);
+        assertThat(index.search("inv* ord*")).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should drop removed rows and tokens left without rows")
+    void shouldRemoveRows() {
+        int tokens = index.getTokenCount();
+
+        index.remove(3, "invoices, archived");
+
+        assertThat(index.search("invoice*")).containsExactly(1L);
+        assertThat(index.getTokenCount()).isEqualTo(tokens - 2);
+    }
+
+    @Test
+    @DisplayName("Should merge partial indexes built over consecutive id ranges")
+    void shouldMergeParts() {
+        TextIndex first = new TextIndex();
+        TextIndex second = new TextIndex();
+        for (long id = 1; id <= 10; id++) {
+            first.add(id, "row " + id);
+            second.add(id + 10, "row " + (id + 10));
+        }
+
+        index.replaceWith(List.of(first, second));
+
+        assertThat(index.search("row")).hasSize(20);
+        assertThat(index.search("row 1*")).containsExactly(1L, 10L, 11L, 12L, 13L, 14L, 15L, 16L, 17L, 18L, 19L);
+        assertThat(index.search("invoice")).isEmpty();
+    }
+}
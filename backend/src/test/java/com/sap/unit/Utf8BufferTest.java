@@ -0,0 +1,109 @@
+package com.sap.unit;
+
+import com.sap.export.Utf8Buffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Utf8Buffer Unit Tests")
+class Utf8BufferTest {
+
+    private static final List<String> SAMPLES = List.of(
+            "", "plain", "a,b", "say \"hi\"", "line\nbreak", "<tag attr='x'>&amp;</tag>",
+            "ünïcødé", "€ sign", "emoji 😀", "lone \uD800 surrogate", "x".repeat(10_000));
+
+    @Test
+    @DisplayName("Should format numbers like String.valueOf")
+    void shouldFormatNumbers() throws IOException {
+        for (Number value : new Number[]{0L, 7, -7, 42L, Integer.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, null}) {
+            assertThat(encode(buffer -> buffer.writeNumber(value))).isEqualTo(utf8(String.valueOf(value)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should format timestamps like LocalDateTime.toString")
+    void shouldFormatTimestamps() throws IOException {
+        LocalDateTime[] values = {
+                LocalDateTime.of(2024, 1, 2, 3, 4),
+                LocalDateTime.of(2024, 1, 2, 3, 4, 5),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 0, 120_000_000),
+                LocalDateTime.of(999, 1, 1, 0, 0, 0, 123_456_000),
+                LocalDateTime.of(2024, 6, 1, 0, 0, 0, 1),
+                LocalDateTime.of(12_345, 6, 1, 0, 0),
+                null};
+        for (LocalDateTime value : values) {
+            assertThat(encode(buffer -> buffer.writeDateTime(value))).isEqualTo(utf8(String.valueOf(value)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should quote CSV fields only when they contain a delimiter")
+    void shouldEscapeCsv() throws IOException {
+        for (String value : SAMPLES) {
+            String expected = value.contains(",") || value.contains("\"") || value.contains("\n")
+                    ? "\"" + value.replace("\"", "\"\"") + "\""
+                    : value;
+            assertThat(encode(buffer -> buffer.writeCsvField(value))).isEqualTo(utf8(expected));
+        }
+        assertThat(encode(buffer -> buffer.writeCsvField(null))).isEqualTo(new byte[0]);
+    }
+
+    @Test
+    @DisplayName("Should escape the five predefined XML entities")
+    void shouldEscapeXml() throws IOException {
+        for (String value : SAMPLES) {
+            String expected = value.replace("&", "&amp;")
+                    .replace("<", "&lt;")
+                    .replace(">", "&gt;")
+                    .replace("\"", "&quot;")
+                    .replace("'", "&apos;");
+            assertThat(encode(buffer -> buffer.writeXmlText(value))).isEqualTo(utf8(expected));
+        }
+    }
+
+    @Test
+    @DisplayName("Should quote and escape JSON strings")
+    void shouldEscapeJson() throws IOException {
+        assertThat(encode(buffer -> buffer.writeJsonString("say \"hi\" \\ / ünï")))
+                .isEqualTo(utf8("\"say \\\"hi\\\" \\\\ / ünï\""));
+        assertThat(encode(buffer -> buffer.writeJsonString("\b\t\n\f\r\u0001\u001f")))
+                .isEqualTo(utf8("\"\\b\\t\\n\\f\\r\\u0001\\u001F\""));
+        assertThat(encode(buffer -> buffer.writeJsonString(null))).isEqualTo(utf8("null"));
+    }
+
+    @Test
+    @DisplayName("Should format timestamps like ISO_LOCAL_DATE_TIME with seconds")
+    void shouldFormatIsoTimestamps() throws IOException {
+        assertThat(encode(buffer -> buffer.writeIsoDateTime(LocalDateTime.of(2024, 1, 2, 3, 4))))
+                .isEqualTo(utf8("2024-01-02T03:04:00"));
+        assertThat(encode(buffer -> buffer.writeIsoDateTime(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 120_000_000))))
+                .isEqualTo(utf8("2024-01-02T03:04:05.12"));
+        assertThat(encode(buffer -> buffer.writeIsoDateTime(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 1))))
+                .isEqualTo(utf8("2024-01-02T03:04:05.000000001"));
+    }
+
+    private static byte[] encode(Encoder encoder) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // A small buffer exercises draining and growth
+        Utf8Buffer buffer = new Utf8Buffer(out, 16);
+        encoder.encode(buffer);
+        buffer.flush();
+        return out.toByteArray();
+    }
+
+    // The JDK encoder replaces unpaired surrogates with '?', as the buffer does
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private interface Encoder {
+        void encode(Utf8Buffer buffer) throws IOException;
+    }
+}
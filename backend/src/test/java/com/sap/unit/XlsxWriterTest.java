@@ -0,0 +1,80 @@
+package com.sap.unit;
+
+import com.sap.export.XlsxWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("XlsxWriter Unit Tests")
+class XlsxWriterTest {
+
+    @Test
+    @DisplayName("Should write a workbook package with one sheet of rows")
+    void shouldWriteWorkbook() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XlsxWriter writer = new XlsxWriter(out, "Rows", new String[]{"ID", "Text"}, 2);
+        for (int i = 1; i <= 5; i++) {
+            writer.startRow().numberCell(i).stringCell("row " + i).endRow();
+        }
+        writer.finish();
+
+        Map<String, String> entries = unzip(out.toByteArray());
+
+        assertThat(entries).containsKeys("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+                "xl/_rels/workbook.xml.rels", "xl/styles.xml", "xl/worksheets/sheet1.xml");
+        String sheet = entries.get("xl/worksheets/sheet1.xml");
+        assertThat(sheet).contains("<row r=\"1\"><c t=\"inlineStr\"><is><t xml:space=\"preserve\">ID</t>");
+        assertThat(sheet).contains("<row r=\"6\"><c><v>5</v></c>");
+        assertThat(sheet).endsWith("</sheetData></worksheet>");
+        assertThat(entries.get("xl/workbook.xml")).contains("<sheet name=\"Rows\" sheetId=\"1\"");
+    }
+
+    @Test
+    @DisplayName("Should escape markup and drop characters not allowed in XML")
+    void shouldEscapeStrings() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XlsxWriter writer = new XlsxWriter(out, "Rows", new String[]{"Text"}, 100);
+        writer.startRow().stringCell("<a & \"b\">\u0001").endRow();
+        writer.finish();
+
+        String sheet = unzip(out.toByteArray()).get("xl/worksheets/sheet1.xml");
+
+        assertThat(sheet).contains("&lt;a &amp; &quot;b&quot;&gt;</t>");
+        assertThat(sheet).doesNotContain("\u0001");
+    }
+
+    @Test
+    @DisplayName("Should write dates as Excel serial numbers with a date style")
+    void shouldWriteDateSerial() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XlsxWriter writer = new XlsxWriter(out, "Rows", new String[]{"Created"}, 100);
+        writer.startRow().dateCell(LocalDateTime.of(1970, 1, 2, 12, 0)).endRow();
+        writer.finish();
+
+        String sheet = unzip(out.toByteArray()).get("xl/worksheets/sheet1.xml");
+
+        assertThat(sheet).contains("<c s=\"1\"><v>25570.5</v></c>");
+    }
+
+    private static Map<String, String> unzip(byte[] bytes) throws IOException {
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
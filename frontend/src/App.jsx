@@ -1,15 +1,25 @@
 import { Container, Typography } from '@mui/material';
-import { useEffect, useCallback } from 'react';
+import { useEffect, useCallback, useRef } from 'react';
 import { useDispatch, useSelector } from 'react-redux';
 import TableView from './components/TableView.jsx';
 import TableForm from './features/table/TableForm.jsx';
-import { setRows } from './features/table/tableSlice';
-import { fetchRows } from './services/api';
+import { adjustTotalCount, setRows } from './features/table/tableSlice';
+import { fetchRows, subscribeToChanges } from './services/api';
+import { affectsPage, createReloadScheduler } from './services/changes';
+
+// At most one reload per window keeps a tab well inside the /rows rate limit (10 per 10 s)
+const CHANGE_RELOAD_WINDOW_MS = 2000;
 
 function App() {
   const dispatch = useDispatch();
   const page = useSelector((state) => state.table.page);
   const size = useSelector((state) => state.table.size);
+  const rows = useSelector((state) => state.table.rows);
+  const rowsRef = useRef(rows);
+
+  useEffect(() => {
+    rowsRef.current = rows;
+  }, [rows]);
 
   useEffect(() => {
     console.log("Refetch")
@@ -25,6 +35,25 @@ function App() {
       console.error('Error loading data:', error);
     }
   }, [page, size]) 
+
+  // Reload the current page when rows change instead of polling. Created and deleted rows
+  // only move the total unless they can change the page shown; bursts of changes (a bulk
+  // insert) are coalesced into one reload per window, and a resync always reloads.
+  useEffect(() => {
+    const reload = createReloadScheduler(() => loadData(), CHANGE_RELOAD_WINDOW_MS);
+    const unsubscribe = subscribeToChanges((change) => {
+      if (change.type !== 'resync') {
+        dispatch(adjustTotalCount(change.type === 'created' ? 1 : -1));
+      }
+      if (change.type === 'resync' || affectsPage(change, rowsRef.current, size)) {
+        reload.request();
+      }
+    });
+    return () => {
+      unsubscribe();
+      reload.cancel();
+    };
+  }, [loadData, size, dispatch]);
   
   // const loadData = async () => {
   //   try {
@@ -21,6 +21,9 @@ const tableSlice = createSlice({
       state.page = action.payload.page;
       state.size = action.payload.size;
     },
+    adjustTotalCount: (state, action) => {
+      state.totalCount = Math.max(0, state.totalCount + action.payload);
+    },
     setPage: (state, action) => {
       state.page = action.payload;
     },
@@ -31,5 +34,5 @@ const tableSlice = createSlice({
   },
 });
 
-export const { addRow, setRows, setPage, deleteRow } = tableSlice.actions;
+export const { addRow, setRows, adjustTotalCount, setPage, deleteRow } = tableSlice.actions;
 export default tableSlice.reducer;
\ No newline at end of file
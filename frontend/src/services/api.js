@@ -15,4 +15,14 @@ export const createRow = async (rowData) => {
 export const deleteRowById = async (id) => {
   const response = await axios.delete(`${API_BASE_URL}/rows/${id}`);
   return response.data;
-};
\ No newline at end of file
+};
+
+// Calls onChange for every committed insert or delete (and for "resync" when changes were
+// missed). EventSource reconnects on its own and resumes after the last event id.
+export const subscribeToChanges = (onChange) => {
+  const source = new EventSource(`${API_BASE_URL}/rows/changes/stream`);
+  ['created', 'deleted', 'resync'].forEach((type) =>
+    source.addEventListener(type, (event) => onChange(JSON.parse(event.data)))
+  );
+  return () => source.close();
+};
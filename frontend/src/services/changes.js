@@ -0,0 +1,31 @@
+// Helpers for reacting to the row change feed without reloading on every event.
+
+// Whether a created or deleted row can change the offset page showing `rows` (id order,
+// `size` per page). Rows after a full page only move the total; anything at or before its
+// last row shifts it, and a page that is not full is the tail that new rows extend.
+export const affectsPage = (change, rows, size) => {
+  if (!change.row || rows.length < size) {
+    return true;
+  }
+  return change.row.id <= rows[rows.length - 1].id;
+};
+
+// Runs `reload` at most once per `windowMs`: the first request starts the window and the
+// reload happens when it ends, however many requests arrived in between.
+export const createReloadScheduler = (reload, windowMs) => {
+  let timer = null;
+  return {
+    request() {
+      if (timer === null) {
+        timer = setTimeout(() => {
+          timer = null;
+          reload();
+        }, windowMs);
+      }
+    },
+    cancel() {
+      clearTimeout(timer);
+      timer = null;
+    },
+  };
+};
@@ -0,0 +1,56 @@
+import { afterEach, beforeEach, describe, expect, it, vi } from 'vitest';
+import { affectsPage, createReloadScheduler } from './changes';
+
+const rows = (fromId, toId) =>
+  Array.from({ length: toId - fromId + 1 }, (_, i) => ({ id: fromId + i }));
+
+describe('affectsPage', () => {
+  it('ignores rows after a full page', () => {
+    expect(affectsPage({ type: 'created', row: { id: 25 } }, rows(1, 10), 10)).toBe(false);
+    expect(affectsPage({ type: 'deleted', row: { id: 11 } }, rows(1, 10), 10)).toBe(false);
+  });
+
+  it('reloads for rows at or before the last shown row', () => {
+    expect(affectsPage({ type: 'deleted', row: { id: 3 } }, rows(11, 20), 10)).toBe(true);
+    expect(affectsPage({ type: 'deleted', row: { id: 20 } }, rows(11, 20), 10)).toBe(true);
+  });
+
+  it('reloads the tail page for any new row', () => {
+    expect(affectsPage({ type: 'created', row: { id: 99 } }, rows(1, 4), 10)).toBe(true);
+  });
+
+  it('always reloads on resync', () => {
+    expect(affectsPage({ type: 'resync', row: null }, rows(1, 10), 10)).toBe(true);
+  });
+});
+
+describe('createReloadScheduler', () => {
+  beforeEach(() => vi.useFakeTimers());
+  afterEach(() => vi.useRealTimers());
+
+  it('reloads once per window however many changes arrive', () => {
+    const reload = vi.fn();
+    const scheduler = createReloadScheduler(reload, 1000);
+
+    for (let i = 0; i < 50; i++) {
+      scheduler.request();
+    }
+    expect(reload).not.toHaveBeenCalled();
+    vi.advanceTimersByTime(1000);
+    expect(reload).toHaveBeenCalledTimes(1);
+
+    scheduler.request();
+    vi.advanceTimersByTime(1000);
+    expect(reload).toHaveBeenCalledTimes(2);
+  });
+
+  it('does not reload after cancel', () => {
+    const reload = vi.fn();
+    const scheduler = createReloadScheduler(reload, 1000);
+
+    scheduler.request();
+    scheduler.cancel();
+    vi.advanceTimersByTime(1000);
+    expect(reload).not.toHaveBeenCalled();
+  });
+});